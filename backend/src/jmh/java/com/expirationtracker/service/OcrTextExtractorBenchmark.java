@@ -0,0 +1,108 @@
+package com.expirationtracker.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OCR 텍스트 추출 벤치마크 (ocr-corpus.txt의 실제 인식 텍스트 전체를 한 번 처리하는 시간)
+ * legacyRegex는 비교용으로 남겨둔 이전 방식 (호출마다 정규식 컴파일, 텍스트 여러 번 탐색, 예외로 날짜 검증)
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OcrTextExtractorBenchmark {
+
+    private List<String> corpus;
+
+    @Setup
+    public void loadCorpus() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/ocr-corpus.txt")) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            corpus = new ArrayList<>();
+            for (String sample : content.split("\n---\n")) {
+                String text = sample.lines()
+                        .filter(line -> !line.startsWith("#"))
+                        .reduce((a, b) -> a + "\n" + b)
+                        .orElse("")
+                        .trim();
+                if (!text.isEmpty()) {
+                    corpus.add(text);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        for (String text : corpus) {
+            blackhole.consume(OcrTextExtractor.extract(text));
+        }
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        for (String text : corpus) {
+            blackhole.consume(legacyDate(text));
+            blackhole.consume(legacyBarcode(text));
+            blackhole.consume(text.split("\\n")[0].trim());
+        }
+    }
+
+    private static LocalDate legacyDate(String text) {
+        Matcher range = Pattern.compile("(\\d{4})[-./](\\d{1,2})[-./](\\d{1,2})\\s*[~-]\\s*(\\d{4})[-./](\\d{1,2})[-./](\\d{1,2})")
+                .matcher(text);
+        if (range.find()) {
+            try {
+                return LocalDate.of(Integer.parseInt(range.group(4)), Integer.parseInt(range.group(5)),
+                        Integer.parseInt(range.group(6)));
+            } catch (Exception e) {
+                // 다음 패턴으로
+            }
+        }
+        Pattern[] patterns = {
+                Pattern.compile("유효기간[:\\s]*(\\d{4})[-./](\\d{1,2})[-./](\\d{1,2})"),
+                Pattern.compile("(\\d{4})[-./](\\d{1,2})[-./](\\d{1,2})"),
+                Pattern.compile("(\\d{4})(\\d{2})(\\d{2})"),
+        };
+        for (Pattern pattern : patterns) {
+            Matcher matcher = pattern.matcher(text);
+            if (matcher.find()) {
+                try {
+                    return LocalDate.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                            Integer.parseInt(matcher.group(3)));
+                } catch (Exception e) {
+                    // 다음 패턴으로
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String legacyBarcode(String text) {
+        Matcher matcher = Pattern.compile("\\b(\\d{10,15})\\b").matcher(text);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
@@ -59,6 +59,8 @@ public class DataSourceConfig {
         config.addDataSourceProperty("cachePrepStmts", "true");
         config.addDataSourceProperty("prepStmtCacheSize", "250");
         config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        // 배치 INSERT를 다중 VALUES 한 문장으로 전송
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
 
         return new HikariDataSource(config);
     }
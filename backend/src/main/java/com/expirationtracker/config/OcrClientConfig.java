@@ -0,0 +1,37 @@
+package com.expirationtracker.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Clova OCR 호출용 WebClient
+ * 커넥션 풀 크기와 연결/응답 시간 제한을 설정하여 느린 OCR 서버가 요청을 무한정 붙잡지 않도록 한다.
+ */
+@Configuration
+public class OcrClientConfig {
+
+    @Bean
+    public WebClient ocrWebClient(@Value("${ocr.client.max-connections:50}") int maxConnections,
+                                  @Value("${ocr.client.pending-acquire-timeout:PT5S}") Duration pendingAcquireTimeout,
+                                  @Value("${ocr.client.connect-timeout:PT3S}") Duration connectTimeout,
+                                  @Value("${ocr.client.response-timeout:PT15S}") Duration responseTimeout) {
+        ConnectionProvider provider = ConnectionProvider.builder("clova-ocr")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .build();
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.expirationtracker.controller;
+
+import com.expirationtracker.dto.DeviceTokenRequest;
+import com.expirationtracker.service.DeviceTokenService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/devices")
+@RequiredArgsConstructor
+public class DeviceController {
+
+    private final DeviceTokenService deviceTokenService;
+
+    // 푸시 알림을 받을 기기 토큰 등록
+    @PostMapping
+    public ResponseEntity<Void> register(@Valid @RequestBody DeviceTokenRequest request) {
+        deviceTokenService.register(request.getUserId(), request.getToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{token}")
+    public ResponseEntity<Void> unregister(@PathVariable String token) {
+        deviceTokenService.unregister(token);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,55 +1,275 @@
 package com.expirationtracker.controller;
 
+import com.expirationtracker.dto.BatchCreateResponse;
+import com.expirationtracker.dto.CardCursor;
+import com.expirationtracker.dto.CardListFingerprint;
+import com.expirationtracker.dto.CardStats;
 import com.expirationtracker.dto.GiftCardRequest;
+import com.expirationtracker.dto.GiftCardSummary;
+import com.expirationtracker.dto.PageResponse;
 import com.expirationtracker.entity.CardStatus;
 import com.expirationtracker.entity.Category;
 import com.expirationtracker.entity.GiftCard;
 import com.expirationtracker.service.GiftCardService;
+import com.expirationtracker.service.ImageStorageService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/cards")
 @RequiredArgsConstructor
 public class GiftCardController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final GiftCardService giftCardService;
+    private final ImageStorageService imageStorageService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<GiftCard>> getAllCards() {
-        return ResponseEntity.ok(giftCardService.getAllCards());
+    public ResponseEntity<List<GiftCard>> getAllCards(WebRequest request) {
+        return conditional(request, giftCardService.fingerprintAll(), giftCardService::getAllCards);
+    }
+
+    // fields 파라미터가 있으면 요약 프로젝션으로 조회하고 요청한 필드만 응답 (예: fields=id,name,expirationDate)
+    @GetMapping(params = {"fields", "!limit"})
+    public ResponseEntity<MappingJacksonValue> getAllCardSummaries(@RequestParam String fields) {
+        Set<String> selected = GiftCardSummary.parseFields(fields);
+        return ResponseEntity.ok(GiftCardSummary.withFields(giftCardService.getAllCardSummaries(), selected));
     }
 
+    // Accept: application/x-ndjson 이면 한 줄에 카드 하나씩 스트리밍 (전체 목록을 메모리에 올리지 않음)
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCards() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                giftCardService.streamAllCards(new Consumer<>() {
+                    private int written;
+
+                    @Override
+                    public void accept(GiftCard card) {
+                        try {
+                            generator.writeObject(card);
+                            generator.writeRaw('\n');
+                            if (++written % GiftCardService.STREAM_FLUSH_SIZE == 0) {
+                                generator.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // limit 파라미터가 있으면 커서 페이지 응답 (없으면 기존과 같이 전체 목록)
+    @GetMapping(params = "limit")
+    public ResponseEntity<PageResponse<GiftCard>> getAllCardsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(giftCardService.getAllCardsPage(
+                CardCursor.decode(cursor, CardCursor.SortKey.CREATED_AT), pageSize(limit)));
+    }
+
+    // 버전과 기준일 기반 강한 ETag - 변경이 없으면 이미지를 읽지 않고 304 응답
+    // (expired, daysUntilExpiration은 날짜에 따라 달라지므로 기준일 포함)
     @GetMapping("/{id}")
-    public ResponseEntity<GiftCard> getCardById(@PathVariable Long id) {
-        return ResponseEntity.ok(giftCardService.getCardById(id));
+    public ResponseEntity<GiftCard> getCardById(@PathVariable Long id, WebRequest request) {
+        GiftCard card = giftCardService.getCurrentCard(id);
+        String eTag = "\"" + card.getId() + "-" + card.getVersion() + "-" + LocalDate.now() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(giftCardService.withImage(card));
+    }
+
+    @GetMapping("/{id}/image")
+    public ResponseEntity<StreamingResponseBody> getCardImage(@PathVariable Long id) {
+        GiftCard card = giftCardService.getCardById(id);
+        return imageStorageService.load(card.getImageHash())
+                .map(image -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(
+                                card.getImageContentType() != null ? card.getImageContentType() : MediaType.IMAGE_JPEG_VALUE))
+                        .contentLength(image.remaining())
+                        // 해시 기반 저장이므로 같은 해시의 내용은 변하지 않음
+                        .eTag("\"" + card.getImageHash() + "\"")
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate())
+                        .body((StreamingResponseBody) out -> Channels.newChannel(out).write(image.duplicate())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 목록용 썸네일 (업로드 시 생성, 썸네일이 없는 이전 카드는 404)
+    @GetMapping("/{id}/thumbnail")
+    public ResponseEntity<StreamingResponseBody> getCardThumbnail(@PathVariable Long id) {
+        GiftCard card = giftCardService.getCardById(id);
+        return imageStorageService.load(card.getThumbnailHash())
+                .map(image -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .contentLength(image.remaining())
+                        .eTag("\"" + card.getThumbnailHash() + "\"")
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate())
+                        .body((StreamingResponseBody) out -> Channels.newChannel(out).write(image.duplicate())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 이미지 업로드 - 본문(octet-stream, image/*)을 Base64/문자열 변환 없이 저장 (축소본/썸네일 생성)
+    @PutMapping(value = "/{id}/image", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "image/*"})
+    public ResponseEntity<GiftCard> uploadCardImage(@PathVariable Long id,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                    InputStream body) {
+        giftCardService.getCardById(id);
+        return ResponseEntity.ok(giftCardService.updateImage(id, imageStorageService.store(body, mimeType(contentType))));
+    }
+
+    // 이미지 업로드 - multipart/form-data의 image 파트 (파트는 임시 파일로 받음)
+    @PutMapping(value = "/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<GiftCard> uploadCardImagePart(@PathVariable Long id,
+                                                        @RequestPart("image") MultipartFile image) throws IOException {
+        giftCardService.getCardById(id);
+        try (InputStream in = image.getInputStream()) {
+            return ResponseEntity.ok(giftCardService.updateImage(id, imageStorageService.store(in, mimeType(image.getContentType()))));
+        }
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<GiftCard>> getCardsByUser(@PathVariable String userId, WebRequest request) {
+        return conditional(request, giftCardService.fingerprintByUser(userId),
+                () -> giftCardService.getCardsByUser(userId));
+    }
+
+    @GetMapping(value = "/user/{userId}", params = "fields")
+    public ResponseEntity<MappingJacksonValue> getCardSummariesByUser(
+            @PathVariable String userId,
+            @RequestParam String fields) {
+        Set<String> selected = GiftCardSummary.parseFields(fields);
+        return ResponseEntity.ok(GiftCardSummary.withFields(giftCardService.getCardSummariesByUser(userId), selected));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<GiftCard>> getCardsByStatus(@PathVariable CardStatus status) {
-        return ResponseEntity.ok(giftCardService.getCardsByStatus(status));
+    public ResponseEntity<List<GiftCard>> getCardsByStatus(@PathVariable CardStatus status, WebRequest request) {
+        return conditional(request, giftCardService.fingerprintByStatus(status),
+                () -> giftCardService.getCardsByStatus(status));
+    }
+
+    @GetMapping(value = "/status/{status}", params = {"fields", "!limit"})
+    public ResponseEntity<MappingJacksonValue> getCardSummariesByStatus(
+            @PathVariable CardStatus status,
+            @RequestParam String fields) {
+        Set<String> selected = GiftCardSummary.parseFields(fields);
+        return ResponseEntity.ok(GiftCardSummary.withFields(giftCardService.getCardSummariesByStatus(status), selected));
+    }
+
+    @GetMapping(value = "/status/{status}", params = "limit")
+    public ResponseEntity<PageResponse<GiftCard>> getCardsByStatusPage(
+            @PathVariable CardStatus status,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(giftCardService.getCardsByStatusPage(
+                status, CardCursor.decode(cursor, CardCursor.SortKey.CREATED_AT), pageSize(limit)));
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<GiftCard>> getCardsByCategory(@PathVariable Category category) {
-        return ResponseEntity.ok(giftCardService.getCardsByCategory(category));
+    public ResponseEntity<List<GiftCard>> getCardsByCategory(@PathVariable Category category, WebRequest request) {
+        return conditional(request, giftCardService.fingerprintByCategory(category),
+                () -> giftCardService.getCardsByCategory(category));
+    }
+
+    @GetMapping(value = "/category/{category}", params = {"fields", "!limit"})
+    public ResponseEntity<MappingJacksonValue> getCardSummariesByCategory(
+            @PathVariable Category category,
+            @RequestParam String fields) {
+        Set<String> selected = GiftCardSummary.parseFields(fields);
+        return ResponseEntity.ok(GiftCardSummary.withFields(giftCardService.getCardSummariesByCategory(category), selected));
+    }
+
+    @GetMapping(value = "/category/{category}", params = "limit")
+    public ResponseEntity<PageResponse<GiftCard>> getCardsByCategoryPage(
+            @PathVariable Category category,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(giftCardService.getCardsByCategoryPage(
+                category, CardCursor.decode(cursor, CardCursor.SortKey.CREATED_AT), pageSize(limit)));
     }
 
     @GetMapping("/expiring-soon")
     public ResponseEntity<List<GiftCard>> getExpiringSoonCards(
-            @RequestParam(defaultValue = "7") int days) {
-        return ResponseEntity.ok(giftCardService.getExpiringSoonCards(days));
+            @RequestParam(defaultValue = "7") int days,
+            WebRequest request) {
+        return conditional(request, giftCardService.fingerprintExpiringSoon(days),
+                () -> giftCardService.getExpiringSoonCards(days));
+    }
+
+    @GetMapping(value = "/expiring-soon", params = {"fields", "!limit"})
+    public ResponseEntity<MappingJacksonValue> getExpiringSoonCardSummaries(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam String fields) {
+        Set<String> selected = GiftCardSummary.parseFields(fields);
+        return ResponseEntity.ok(GiftCardSummary.withFields(giftCardService.getExpiringSoonCardSummaries(days), selected));
+    }
+
+    @GetMapping(value = "/expiring-soon", params = "limit")
+    public ResponseEntity<PageResponse<GiftCard>> getExpiringSoonCardsPage(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(giftCardService.getExpiringSoonCardsPage(
+                days, CardCursor.decode(cursor, CardCursor.SortKey.EXPIRATION_DATE), pageSize(limit)));
     }
 
     @GetMapping("/expired")
-    public ResponseEntity<List<GiftCard>> getExpiredCards() {
-        return ResponseEntity.ok(giftCardService.getExpiredCards());
+    public ResponseEntity<List<GiftCard>> getExpiredCards(WebRequest request) {
+        return conditional(request, giftCardService.fingerprintExpired(), giftCardService::getExpiredCards);
+    }
+
+    @GetMapping(value = "/expired", params = {"fields", "!limit"})
+    public ResponseEntity<MappingJacksonValue> getExpiredCardSummaries(@RequestParam String fields) {
+        Set<String> selected = GiftCardSummary.parseFields(fields);
+        return ResponseEntity.ok(GiftCardSummary.withFields(giftCardService.getExpiredCardSummaries(), selected));
+    }
+
+    @GetMapping(value = "/expired", params = "limit")
+    public ResponseEntity<PageResponse<GiftCard>> getExpiredCardsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(giftCardService.getExpiredCardsPage(
+                CardCursor.decode(cursor, CardCursor.SortKey.EXPIRATION_DATE), pageSize(limit)));
+    }
+
+    // 커서 페이지는 전체 카드를 응답하므로 fields와 함께 주면 필드를 무시하지 않고 400 응답
+    @GetMapping(value = {"", "/status/{status}", "/category/{category}", "/expiring-soon", "/expired"},
+            params = {"fields", "limit"})
+    public ResponseEntity<Map<String, String>> rejectFieldsWithLimit() {
+        throw new IllegalArgumentException("fields와 limit은 함께 사용할 수 없습니다");
     }
 
     @PostMapping
@@ -58,6 +278,14 @@ public class GiftCardController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // 일괄 등록 - 항목별 결과 반환 (일부 실패 시 207)
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createCards(@RequestBody List<GiftCardRequest> requests) {
+        BatchCreateResponse response = giftCardService.createCards(requests);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<GiftCard> updateCard(
             @PathVariable Long id,
@@ -77,17 +305,45 @@ public class GiftCardController {
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getStats() {
-        Map<String, Object> stats = Map.of(
-                "total", giftCardService.countByStatus(CardStatus.ACTIVE) +
-                        giftCardService.countByStatus(CardStatus.EXPIRED) +
-                        giftCardService.countByStatus(CardStatus.USED),
-                "active", giftCardService.countByStatus(CardStatus.ACTIVE),
-                "expired", giftCardService.countByStatus(CardStatus.EXPIRED),
-                "used", giftCardService.countByStatus(CardStatus.USED),
-                "expiringSoon7", giftCardService.countExpiringSoon(7),
-                "expiringSoon30", giftCardService.countExpiringSoon(30)
-        );
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<CardStats> getStats(@RequestParam(required = false) String userId) {
+        return ResponseEntity.ok(giftCardService.getStats(userId));
+    }
+
+    // 사용자별 통계 (사용자 ID -> 통계)
+    @GetMapping("/stats/users")
+    public ResponseEntity<Map<String, CardStats>> getStatsByUser() {
+        return ResponseEntity.ok(giftCardService.getStatsByUser());
+    }
+
+    // 목록 지문으로 ETag를 만들고, 클라이언트의 If-None-Match와 같으면 목록을 조회하지 않고 304 응답
+    private <T> ResponseEntity<T> conditional(WebRequest request, CardListFingerprint fingerprint, Supplier<T> body) {
+        String eTag = fingerprint.toETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(body.get());
+    }
+
+    // 저장/응답에 쓰는 콘텐츠 타입은 파라미터(charset 등)를 뺀 type/subtype만 사용
+    private static String mimeType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mediaType.getType() + "/" + mediaType.getSubtype();
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "다른 요청에서 카드가 먼저 변경되었습니다. 다시 시도해주세요"));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
     }
 }
@@ -1,11 +1,24 @@
 package com.expirationtracker.controller;
 
+import com.expirationtracker.dto.OcrBatchItem;
 import com.expirationtracker.dto.OcrRequest;
 import com.expirationtracker.dto.OcrResponse;
+import com.expirationtracker.service.OcrBusyException;
 import com.expirationtracker.service.OcrService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/ocr")
@@ -14,9 +27,68 @@ public class OcrController {
 
     private final OcrService ocrService;
 
+    @Value("${storage.image.max-size:10MB}")
+    private DataSize maxImageSize = DataSize.ofMegabytes(10);
+
+    @Value("${ocr.batch.max-images:50}")
+    private int maxBatchImages = 50;
+
+    // Clova 응답을 기다리는 동안 요청 스레드를 붙잡지 않음 (동시 호출 한도 초과 시 즉시 429)
     @PostMapping("/process")
-    public ResponseEntity<OcrResponse> processImage(@RequestBody OcrRequest request) {
-        OcrResponse response = ocrService.processImage(request.getImageBase64());
-        return ResponseEntity.ok(response);
+    public Mono<ResponseEntity<OcrResponse>> processImage(@RequestBody OcrRequest request) {
+        return ocrService.processImageAsync(request.getImageBase64())
+                .map(ResponseEntity::ok);
+    }
+
+    // 바이너리 업로드 - multipart/form-data의 image 파트 (Base64 변환 없이 바이트 그대로 사용)
+    @PostMapping(value = "/process", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<OcrResponse>> processImagePart(@RequestPart("image") MultipartFile image) throws IOException {
+        checkSize(image.getSize());
+        return ocrService.processImageAsync(image.getBytes())
+                .map(ResponseEntity::ok);
+    }
+
+    // 바이너리 업로드 - 요청 본문(octet-stream, image/*) 그대로
+    @PostMapping(value = "/process", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "image/*"})
+    public Mono<ResponseEntity<OcrResponse>> processImageBytes(InputStream body) throws IOException {
+        byte[] image = body.readNBytes(Math.toIntExact(maxImageSize.toBytes()) + 1);
+        checkSize(image.length);
+        return ocrService.processImageAsync(image)
+                .map(ResponseEntity::ok);
+    }
+
+    // 여러 이미지 일괄 처리 - multipart/form-data의 images 파트들 (요청당/전체 동시 호출 한도 안에서 병렬 처리)
+    // 끝나는 순서대로 항목 하나씩 스트리밍 (application/x-ndjson: 한 줄에 하나, text/event-stream: 이벤트 하나)
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<OcrBatchItem> processBatch(@RequestPart("images") List<MultipartFile> images) {
+        if (images.isEmpty() || images.size() > maxBatchImages) {
+            throw new IllegalArgumentException("이미지는 1 ~ " + maxBatchImages + "개까지 보낼 수 있습니다");
+        }
+        images.forEach(image -> checkSize(image.getSize()));
+        // 파트는 임시 파일로 받았으므로 처리 차례가 된 이미지만 읽음
+        return ocrService.processBatchAsync(images.stream()
+                .map(image -> Mono.fromCallable(image::getBytes))
+                .toList());
+    }
+
+    private void checkSize(long size) {
+        if (size == 0 || size > maxImageSize.toBytes()) {
+            throw new IllegalArgumentException("이미지 크기는 1 ~ " + maxImageSize.toBytes() + " bytes여야 합니다");
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<OcrResponse> handleIllegalArgument(IllegalArgumentException e) {
+        // 스트리밍 요청(Accept: application/x-ndjson 등)의 오류도 JSON으로 응답
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(OcrResponse.builder().success(false).message(e.getMessage()).build());
+    }
+
+    @ExceptionHandler(OcrBusyException.class)
+    public ResponseEntity<OcrResponse> handleBusy(OcrBusyException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(OcrResponse.builder().success(false).message(e.getMessage()).build());
     }
 }
@@ -0,0 +1,30 @@
+package com.expirationtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResponse {
+    private int requested;               // 요청 건수
+    private int created;                 // 생성 성공 건수
+    private int failed;                  // 실패 건수
+    private List<ItemResult> results;    // 요청 순서대로의 항목별 결과
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;         // 요청 목록에서의 위치
+        private boolean success;
+        private Long id;           // 생성된 카드 ID
+        private String message;    // 실패 사유
+    }
+}
@@ -0,0 +1,18 @@
+package com.expirationtracker.dto;
+
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+
+import java.time.LocalDate;
+
+/**
+ * 통계 카운터 재계산용 (사용자, 상태, 카테고리, 유효기간) 그룹별 개수
+ */
+public record CardCountRow(
+        String userId,
+        CardStatus status,
+        Category category,
+        LocalDate expirationDate,
+        Long count
+) {
+}
@@ -0,0 +1,75 @@
+package com.expirationtracker.dto;
+
+import com.expirationtracker.entity.GiftCard;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션 커서 (정렬 키 + id)
+ * 클라이언트에는 Base64(URL-safe) 문자열로 전달되어 내부 구조가 노출되지 않는다.
+ */
+public record CardCursor(SortKey sortKey, String value, long id) {
+
+    public enum SortKey {
+        CREATED_AT("c"),       // (createdAt, id) 순
+        EXPIRATION_DATE("e");  // (expirationDate, id) 순
+
+        private final String prefix;
+
+        SortKey(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    public static CardCursor of(GiftCard card, SortKey sortKey) {
+        String value = sortKey == SortKey.CREATED_AT
+                ? card.getCreatedAt().toString()
+                : card.getExpirationDate().toString();
+        return new CardCursor(sortKey, value, card.getId());
+    }
+
+    public LocalDateTime createdAt() {
+        return LocalDateTime.parse(value);
+    }
+
+    public LocalDate expirationDate() {
+        return LocalDate.parse(value);
+    }
+
+    public String encode() {
+        String raw = sortKey.prefix + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 해석 (null이면 첫 페이지)
+     *
+     * @throws IllegalArgumentException 형식이 잘못되었거나 다른 정렬 기준의 커서인 경우
+     */
+    public static CardCursor decode(String token, SortKey expected) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !parts[0].equals(expected.prefix)) {
+                throw new IllegalArgumentException("잘못된 커서입니다");
+            }
+            CardCursor cursor = new CardCursor(expected, parts[1], Long.parseLong(parts[2]));
+            // 값 형식 검증
+            if (expected == SortKey.CREATED_AT) {
+                cursor.createdAt();
+            } else {
+                cursor.expirationDate();
+            }
+            return cursor;
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다", e);
+        }
+    }
+}
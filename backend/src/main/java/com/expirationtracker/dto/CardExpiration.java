@@ -0,0 +1,9 @@
+package com.expirationtracker.dto;
+
+import java.time.LocalDate;
+
+/**
+ * ACTIVE 카드의 id와 유효기간 (만료 인덱스 구축용)
+ */
+public record CardExpiration(Long id, LocalDate expirationDate) {
+}
@@ -0,0 +1,39 @@
+package com.expirationtracker.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 카드 목록 지문 (목록 ETag 계산용)
+ * scope에는 조회 기준일처럼 데이터 외에 결과를 바꾸는 조건을 담는다.
+ */
+public record CardListFingerprint(
+        Long count,
+        Long versionSum,
+        Long idSum,
+        LocalDateTime lastUpdatedAt,
+        String scope
+) {
+
+    // 집계 쿼리(생성자 표현식)용
+    public CardListFingerprint(Long count, Long versionSum, Long idSum, LocalDateTime lastUpdatedAt) {
+        this(count, versionSum, idSum, lastUpdatedAt, "");
+    }
+
+    public CardListFingerprint withScope(Object scope) {
+        return new CardListFingerprint(count, versionSum, idSum, lastUpdatedAt, String.valueOf(scope));
+    }
+
+    /**
+     * 약한 ETag (목록 순서는 보장되지 않으므로 의미상 동일한 표현만 보장)
+     */
+    public String toETag() {
+        long updated = lastUpdatedAt != null ? lastUpdatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        return String.format("W/\"%x-%x-%x-%x%s\"",
+                value(count), value(versionSum), value(idSum), updated, scope.isEmpty() ? "" : "-" + scope);
+    }
+
+    private static long value(Long value) {
+        return value != null ? value : 0;
+    }
+}
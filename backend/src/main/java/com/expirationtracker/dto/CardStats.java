@@ -0,0 +1,76 @@
+package com.expirationtracker.dto;
+
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카드 통계 (GET /api/cards/stats 응답)
+ * 전체/카테고리별 수치 모두 한 번의 집계 쿼리 결과(CardStatsRow)로부터 계산한다.
+ */
+public record CardStats(
+        long total,
+        long active,
+        long expired,
+        long used,
+        long expiringSoon7,
+        long expiringSoon30,
+        Map<Category, CategoryStats> byCategory
+) {
+
+    public record CategoryStats(long total, long active, long expired, long used, long expiringSoon7) {
+    }
+
+    /**
+     * 사용자별 집계 결과를 사용자 -> 통계로 변환 (행 순서대로)
+     */
+    public static Map<String, CardStats> byUser(List<UserCardStatsRow> rows) {
+        Map<String, List<CardStatsRow>> grouped = new LinkedHashMap<>();
+        for (UserCardStatsRow row : rows) {
+            grouped.computeIfAbsent(row.userId(), userId -> new ArrayList<>()).add(row.toStatsRow());
+        }
+        Map<String, CardStats> stats = new LinkedHashMap<>();
+        grouped.forEach((userId, userRows) -> stats.put(userId, from(userRows)));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public static CardStats from(List<CardStatsRow> rows) {
+        long[] byStatus = new long[CardStatus.values().length];
+        long expiringSoon7 = 0;
+        long expiringSoon30 = 0;
+        // 카테고리별 [total, active, expired, used, expiringSoon7]
+        long[][] byCategory = new long[Category.values().length][5];
+
+        for (CardStatsRow row : rows) {
+            long count = row.count();
+            long soon7 = row.expiringSoon7() != null ? row.expiringSoon7() : 0;
+            long soon30 = row.expiringSoon30() != null ? row.expiringSoon30() : 0;
+            byStatus[row.status().ordinal()] += count;
+            expiringSoon7 += soon7;
+            expiringSoon30 += soon30;
+
+            long[] category = byCategory[row.category().ordinal()];
+            category[0] += count;
+            category[1 + row.status().ordinal()] += count;
+            category[4] += soon7;
+        }
+
+        Map<Category, CategoryStats> categories = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            long[] c = byCategory[category.ordinal()];
+            categories.put(category, new CategoryStats(c[0], c[1], c[2], c[3], c[4]));
+        }
+
+        long active = byStatus[CardStatus.ACTIVE.ordinal()];
+        long expired = byStatus[CardStatus.EXPIRED.ordinal()];
+        long used = byStatus[CardStatus.USED.ordinal()];
+        return new CardStats(active + expired + used, active, expired, used, expiringSoon7, expiringSoon30,
+                Collections.unmodifiableMap(categories));
+    }
+}
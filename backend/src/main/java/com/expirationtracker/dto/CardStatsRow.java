@@ -0,0 +1,16 @@
+package com.expirationtracker.dto;
+
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+
+/**
+ * 통계 집계 쿼리의 (상태, 카테고리) 그룹별 결과
+ */
+public record CardStatsRow(
+        CardStatus status,
+        Category category,
+        Long count,
+        Long expiringSoon7,
+        Long expiringSoon30
+) {
+}
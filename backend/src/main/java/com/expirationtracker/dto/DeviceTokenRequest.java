@@ -0,0 +1,14 @@
+package com.expirationtracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class DeviceTokenRequest {
+
+    @NotBlank(message = "사용자 ID는 필수입니다")
+    private String userId;
+
+    @NotBlank(message = "기기 토큰은 필수입니다")
+    private String token;
+}
@@ -0,0 +1,9 @@
+package com.expirationtracker.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 만료 임박 알림용 카드 정보 (사용자별 묶음 생성용)
+ */
+public record ExpiringCardRow(String userId, Long id, String name, LocalDate expirationDate) {
+}
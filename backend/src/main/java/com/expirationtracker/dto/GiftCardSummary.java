@@ -0,0 +1,68 @@
+package com.expirationtracker.dto;
+
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 목록 화면용 카드 요약 (필요한 컬럼만 조회하는 프로젝션)
+ * 이미지, 메모 등은 포함하지 않으며 상세 정보는 GET /api/cards/{id}로 조회한다.
+ * 썸네일은 해시만 포함하고 GET /api/cards/{id}/thumbnail로 받는다.
+ * fields 파라미터는 이 요약 컬럼 중 응답에 포함할 필드만 고르며, SQL은 항상 요약 컬럼 전체를 조회한다.
+ * 커서 페이지(limit)는 전체 카드를 응답하므로 fields와 함께 쓸 수 없다.
+ */
+@JsonFilter(GiftCardSummary.FILTER_ID)
+public record GiftCardSummary(
+        Long id,
+        String name,
+        Category category,
+        LocalDate expirationDate,
+        CardStatus status,
+        String barcode,
+        String thumbnailHash
+) {
+
+    public static final String FILTER_ID = "giftCardSummaryFields";
+
+    public static final Set<String> FIELDS = Set.of("id", "name", "category", "expirationDate", "status", "barcode", "thumbnailHash");
+
+    /**
+     * fields 파라미터 해석 ("summary"이면 전체 요약 필드)
+     *
+     * @throws IllegalArgumentException 요약에 없는 필드를 요청한 경우
+     */
+    public static Set<String> parseFields(String fields) {
+        if (fields.isBlank() || fields.equals("summary")) {
+            return FIELDS;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            field = field.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("지원하지 않는 필드입니다: " + field + " (사용 가능: " + FIELDS + ")");
+            }
+            selected.add(field);
+        }
+        return selected;
+    }
+
+    /**
+     * 요청한 필드만 직렬화되도록 필터를 적용한 응답 본문
+     */
+    public static MappingJacksonValue withFields(Object body, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
+    }
+}
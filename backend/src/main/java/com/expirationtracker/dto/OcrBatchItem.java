@@ -0,0 +1,16 @@
+package com.expirationtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 OCR의 이미지 하나에 대한 결과 (끝나는 순서대로 전송되므로 index로 요청 순서를 구분)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrBatchItem {
+    private int index;             // 요청한 이미지 목록에서의 위치
+    private OcrResponse result;    // 해당 이미지의 OCR 결과
+}
@@ -0,0 +1,9 @@
+package com.expirationtracker.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전송 대기 중인 알림 수와 가장 오래된 알림 생성 시각 (대기 없으면 null)
+ */
+public record OutboxBacklog(Long count, LocalDateTime oldestCreatedAt) {
+}
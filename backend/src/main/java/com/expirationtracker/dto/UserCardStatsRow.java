@@ -0,0 +1,21 @@
+package com.expirationtracker.dto;
+
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+
+/**
+ * 사용자별 통계 집계 쿼리의 (사용자, 상태, 카테고리) 그룹별 결과
+ */
+public record UserCardStatsRow(
+        String userId,
+        CardStatus status,
+        Category category,
+        Long count,
+        Long expiringSoon7,
+        Long expiringSoon30
+) {
+
+    public CardStatsRow toStatsRow() {
+        return new CardStatsRow(status, category, count, expiringSoon7, expiringSoon30);
+    }
+}
@@ -0,0 +1,29 @@
+package com.expirationtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 푸시 알림을 받을 기기 토큰 (FCM 등록 토큰)
+ */
+@Entity
+@Table(name = "device_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceToken {
+
+    @Id
+    @Column(length = 255)
+    private String token;
+
+    @Column(nullable = false, length = 100)
+    private String userId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -16,11 +16,13 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class GiftCard {
 
+    // 시퀀스로 id를 50개씩 미리 할당받아 INSERT 배치가 가능하도록 함 (V4 마이그레이션)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gift_cards_seq")
+    @SequenceGenerator(name = "gift_cards_seq", sequenceName = "gift_cards_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "카드 이름은 필수입니다")
@@ -42,8 +44,17 @@ public class GiftCard {
     @Builder.Default
     private CardStatus status = CardStatus.ACTIVE;
 
-    @Column(columnDefinition = "TEXT")
-    private String imageBase64;  // Base64 인코딩된 이미지
+    @Column(length = 64)
+    private String imageHash;  // 이미지 SHA-256 (BlobStore 키)
+
+    @Column(length = 50)
+    private String imageContentType;  // 이미지 MIME 타입
+
+    @Column(length = 64)
+    private String thumbnailHash;  // 목록용 썸네일 JPEG SHA-256 (BlobStore 키)
+
+    @Transient
+    private String imageBase64;  // data URI 형식 이미지 (상세 조회 시에만 채워짐)
 
     @Column(length = 100)
     private String barcode;  // 바코드 번호
@@ -64,6 +75,11 @@ public class GiftCard {
     @Column
     private LocalDateTime usedAt;  // 사용 완료 시간
 
+    // 낙관적 잠금 버전 - 새 엔티티는 null이어야 save()가 persist로 처리함 (저장 시 0부터 시작)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // 비즈니스 로직
     public boolean isExpired() {
         return LocalDate.now().isAfter(expirationDate);
@@ -0,0 +1,34 @@
+package com.expirationtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * DatabaseBlobStore가 사용하는 이미지 바이너리 (SHA-256 해시로 식별)
+ */
+@Entity
+@Table(name = "image_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;  // SHA-256 (16진수)
+
+    @Column(nullable = false, length = 20 * 1024 * 1024)
+    private byte[] data;
+
+    @Column(nullable = false)
+    private int size;  // 바이트 수
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.expirationtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 이미지별 OCR 추출 결과 (OcrResultCache의 DB 계층)
+ */
+@Entity
+@Table(name = "ocr_results")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OcrResult {
+
+    @Id
+    @Column(length = 64)
+    private String imageHash;  // 디코딩된 이미지의 SHA-256
+
+    private String name;
+
+    private LocalDate expirationDate;
+
+    @Column(length = 100)
+    private String barcode;
+
+    private String message;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
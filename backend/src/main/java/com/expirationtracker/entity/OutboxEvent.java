@@ -0,0 +1,66 @@
+package com.expirationtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전송 대기 중인 알림 (아웃박스)
+ * 카드 변경과 같은 트랜잭션에서 기록되고, 전송에 성공하면 삭제된다.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    public enum Type {
+        CARD_CREATED,
+        CARD_USED,
+        CARD_EXPIRED
+    }
+
+    public enum Status {
+        PENDING,
+        FAILED  // 최대 시도 횟수 초과
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Type eventType;
+
+    @Column(nullable = false, length = 100)
+    private String userId;
+
+    private Long cardId;  // 일괄 등록 요약 알림은 null
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, length = 500)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,33 @@
+package com.expirationtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * id 범위 단위로 진행되는 배치 작업의 진행 위치
+ */
+@Entity
+@Table(name = "sweep_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SweepCheckpoint {
+
+    @Id
+    @Column(length = 50)
+    private String name;  // 작업 이름
+
+    @Column(nullable = false)
+    private LocalDate sweepDate;  // 작업 기준일
+
+    @Column(nullable = false)
+    private Long lastId;  // 처리 완료된 마지막 id (이 id 이하는 처리됨)
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,219 @@
+package com.expirationtracker.notification;
+
+import com.expirationtracker.dto.ExpiringCardRow;
+import com.expirationtracker.entity.DeviceToken;
+import com.expirationtracker.repository.DeviceTokenRepository;
+import com.expirationtracker.repository.GiftCardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 만료 임박 카드 알림
+ * 임박 카드가 있는 사용자를 USER_BATCH_SIZE명씩 키셋 페이지로 읽어 사용자마다 요약 알림 하나를 만들고,
+ * 기기 토큰을 한 번에 조회해 PushSender로 최대 500개씩 묶어 보낸다.
+ * 페이지마다 짧은 트랜잭션으로 읽고 커밋한 뒤에 전송하므로, 전송/속도 제한 대기 중에는 커넥션을 잡지 않는다.
+ * 전송 속도는 notification.push.rate-per-second로 제한하며, 일시적 오류는 모아서 지수 백오프로 재시도하고
+ * 만료/해지된 토큰은 삭제한다.
+ */
+@Component
+@Slf4j
+public class ExpirationNotifier {
+
+    private static final int USER_BATCH_SIZE = 500;
+
+    private final GiftCardRepository giftCardRepository;
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final PushSender pushSender;
+    private final TransactionTemplate transactionTemplate;
+    private final PushRateLimiter rateLimiter;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+
+    public ExpirationNotifier(GiftCardRepository giftCardRepository,
+                              DeviceTokenRepository deviceTokenRepository,
+                              PushSender pushSender,
+                              TransactionTemplate transactionTemplate,
+                              PushRateLimiter rateLimiter,
+                              @Value("${notification.push.max-attempts:3}") int maxAttempts,
+                              @Value("${notification.push.retry-delay:PT30S}") Duration retryDelay) {
+        this.giftCardRepository = giftCardRepository;
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.pushSender = pushSender;
+        this.transactionTemplate = transactionTemplate;
+        this.rateLimiter = rateLimiter;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelay.toMillis();
+    }
+
+    /**
+     * 유효기간이 today ~ today + days인 ACTIVE 카드를 가진 사용자에게 요약 알림 전송
+     */
+    public NotificationReport notifyExpiringSoon(LocalDate today, int days) {
+        Dispatch dispatch = new Dispatch(today);
+        LocalDate endDate = today.plusDays(days);
+        String afterUserId = "";
+        while (true) {
+            String after = afterUserId;
+            List<Digest> digests = new ArrayList<>(USER_BATCH_SIZE);
+            List<String> userIds = transactionTemplate.execute(status -> readPage(today, endDate, after, digests));
+            dispatch.send(digests);
+            if (userIds == null || userIds.size() < USER_BATCH_SIZE) {
+                break;
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+        dispatch.retry();
+        dispatch.removeInvalidTokens();
+
+        NotificationReport report = dispatch.report();
+        log.info("만료 임박 알림 전송: 사용자 {}명, 메시지 {}개, 성공 {}개, 재시도 {}개, 토큰 삭제 {}개, 실패 {}개",
+                report.users(), report.messages(), report.sent(), report.retried(), report.invalidTokens(), report.failed());
+        return report;
+    }
+
+    // afterUserId 다음 사용자 USER_BATCH_SIZE명의 요약을 digests에 채우고 읽은 사용자 ID 반환
+    private List<String> readPage(LocalDate today, LocalDate endDate, String afterUserId, List<Digest> digests) {
+        List<String> userIds = giftCardRepository.findExpiringSoonUserIds(today, endDate, afterUserId,
+                PageRequest.of(0, USER_BATCH_SIZE));
+        if (userIds.isEmpty()) {
+            return userIds;
+        }
+        Digest current = null;
+        for (ExpiringCardRow row : giftCardRepository.findExpiringSoonByUserIds(today, endDate, userIds)) {
+            if (current != null && current.userId.equals(row.userId())) {
+                current.count++;
+                continue;
+            }
+            // 유효기간 오름차순이므로 사용자의 첫 카드가 가장 임박한 카드
+            current = new Digest(row);
+            digests.add(current);
+        }
+        return userIds;
+    }
+
+    // 사용자별 요약 (가장 임박한 카드 + 개수)
+    private static final class Digest {
+        private final String userId;
+        private final String firstName;
+        private final LocalDate firstExpirationDate;
+        private int count = 1;
+
+        private Digest(ExpiringCardRow row) {
+            this.userId = row.userId();
+            this.firstName = row.name();
+            this.firstExpirationDate = row.expirationDate();
+        }
+    }
+
+    // 한 번의 알림 실행 동안의 전송 상태
+    private final class Dispatch {
+        private final LocalDate today;
+        private List<PushMessage> retryQueue = new ArrayList<>();
+        private final Set<String> invalidTokens = new HashSet<>();
+        private int users;
+        private int messages;
+        private int sent;
+        private int retried;
+        private int failed;
+
+        private Dispatch(LocalDate today) {
+            this.today = today;
+        }
+
+        void send(List<Digest> digests) {
+            if (digests.isEmpty()) {
+                return;
+            }
+            users += digests.size();
+            Map<String, Digest> byUser = new HashMap<>();
+            for (Digest digest : digests) {
+                byUser.put(digest.userId, digest);
+            }
+            List<PushMessage> batch = new ArrayList<>();
+            for (DeviceToken deviceToken : deviceTokenRepository.findByUserIdIn(byUser.keySet())) {
+                batch.add(toMessage(deviceToken.getToken(), byUser.get(deviceToken.getUserId())));
+            }
+            messages += batch.size();
+            deliver(batch);
+        }
+
+        // 일시적 오류로 실패한 메시지를 retry-delay부터 두 배씩 늘려가며 최대 max-attempts회까지 재전송
+        void retry() {
+            for (int attempt = 2; attempt <= maxAttempts && !retryQueue.isEmpty(); attempt++) {
+                sleep(retryDelayMillis << (attempt - 2));
+                List<PushMessage> pending = retryQueue;
+                retryQueue = new ArrayList<>();
+                retried += pending.size();
+                log.debug("알림 재시도 {}회차: {}개", attempt, pending.size());
+                deliver(pending);
+            }
+            failed += retryQueue.size();
+            retryQueue.clear();
+        }
+
+        void removeInvalidTokens() {
+            if (!invalidTokens.isEmpty()) {
+                deviceTokenRepository.deleteAllByIdInBatch(invalidTokens);
+            }
+        }
+
+        NotificationReport report() {
+            return new NotificationReport(users, messages, sent, retried, invalidTokens.size(), failed);
+        }
+
+        private void deliver(List<PushMessage> pending) {
+            for (int from = 0; from < pending.size(); from += PushSender.MAX_BATCH_SIZE) {
+                List<PushMessage> chunk = pending.subList(from, Math.min(from + PushSender.MAX_BATCH_SIZE, pending.size()));
+                try {
+                    rateLimiter.acquire(chunk.size());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("알림 전송이 중단되었습니다", e);
+                }
+                for (PushResult result : pushSender.send(chunk)) {
+                    switch (result.outcome()) {
+                        case SENT -> sent++;
+                        case RETRYABLE -> retryQueue.add(result.message());
+                        case INVALID_TOKEN -> invalidTokens.add(result.message().token());
+                        case FAILED -> {
+                            failed++;
+                            log.warn("알림 전송 실패: {}", result.error());
+                        }
+                    }
+                }
+            }
+        }
+
+        private PushMessage toMessage(String token, Digest digest) {
+            long daysLeft = ChronoUnit.DAYS.between(today, digest.firstExpirationDate);
+            String dDay = daysLeft == 0 ? "오늘 만료" : "D-" + daysLeft;
+            String body = digest.count == 1
+                    ? String.format("%s (%s)", digest.firstName, dDay)
+                    : String.format("%s (%s) 외 %d개", digest.firstName, dDay, digest.count - 1);
+            return new PushMessage(token, "유효기간 임박 기프티콘 " + digest.count + "개", body,
+                    Map.of("type", "expiring-soon", "count", String.valueOf(digest.count)));
+        }
+
+        private void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("알림 전송이 중단되었습니다", e);
+            }
+        }
+    }
+}
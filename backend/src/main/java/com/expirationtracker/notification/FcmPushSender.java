@@ -0,0 +1,107 @@
+package com.expirationtracker.notification;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FCM 전송기 - 최대 500개 메시지를 sendEach 한 번의 HTTP 요청으로 전송
+ */
+@Component
+@ConditionalOnProperty(name = "notification.push.type", havingValue = "fcm")
+@Slf4j
+public class FcmPushSender implements PushSender {
+
+    private static final String APP_NAME = "expiration-tracker";
+
+    private final FirebaseApp app;
+    private final FirebaseMessaging messaging;
+
+    public FcmPushSender(@Value("${fcm.service-account-file}") String serviceAccountFile) throws IOException {
+        if (serviceAccountFile == null || serviceAccountFile.isBlank()) {
+            throw new IllegalStateException("fcm.service-account-file이 설정되지 않았습니다.");
+        }
+        try (InputStream in = new FileInputStream(serviceAccountFile)) {
+            FirebaseOptions options = FirebaseOptions.builder()
+                    .setCredentials(GoogleCredentials.fromStream(in))
+                    .build();
+            this.app = FirebaseApp.initializeApp(options, APP_NAME);
+        }
+        this.messaging = FirebaseMessaging.getInstance(app);
+    }
+
+    @Override
+    public List<PushResult> send(List<PushMessage> messages) {
+        if (messages.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BATCH_SIZE + "개까지 전송할 수 있습니다");
+        }
+        List<Message> fcmMessages = new ArrayList<>(messages.size());
+        for (PushMessage message : messages) {
+            fcmMessages.add(Message.builder()
+                    .setToken(message.token())
+                    .setNotification(Notification.builder()
+                            .setTitle(message.title())
+                            .setBody(message.body())
+                            .build())
+                    .putAllData(message.data())
+                    .build());
+        }
+
+        List<PushResult> results = new ArrayList<>(messages.size());
+        try {
+            BatchResponse response = messaging.sendEach(fcmMessages);
+            List<SendResponse> responses = response.getResponses();
+            for (int i = 0; i < messages.size(); i++) {
+                SendResponse sendResponse = responses.get(i);
+                results.add(sendResponse.isSuccessful()
+                        ? PushResult.sent(messages.get(i))
+                        : failure(messages.get(i), sendResponse.getException()));
+            }
+        } catch (FirebaseMessagingException e) {
+            // 요청 전체 실패 (인증/네트워크 오류 등)
+            log.warn("FCM 일괄 전송 실패: {}개", messages.size(), e);
+            for (PushMessage message : messages) {
+                results.add(failure(message, e));
+            }
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void close() {
+        app.delete();
+    }
+
+    private static PushResult failure(PushMessage message, FirebaseMessagingException e) {
+        MessagingErrorCode code = e.getMessagingErrorCode();
+        PushResult.Outcome outcome;
+        if (code == null) {
+            outcome = PushResult.Outcome.RETRYABLE;
+        } else {
+            outcome = switch (code) {
+                case UNREGISTERED, SENDER_ID_MISMATCH -> PushResult.Outcome.INVALID_TOKEN;
+                case UNAVAILABLE, INTERNAL, QUOTA_EXCEEDED -> PushResult.Outcome.RETRYABLE;
+                default -> PushResult.Outcome.FAILED;
+            };
+        }
+        return PushResult.failed(message, outcome, code != null ? code.name() : e.getMessage());
+    }
+}
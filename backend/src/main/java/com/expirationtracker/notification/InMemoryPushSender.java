@@ -0,0 +1,66 @@
+package com.expirationtracker.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 로컬 개발/테스트용 전송기 - 실제로 보내지 않고 보낸 메시지를 보관
+ * respondWith로 토큰별 결과를 지정할 수 있다. (지정한 결과를 순서대로 한 번씩 사용, 이후 SENT)
+ */
+@Component
+@ConditionalOnProperty(name = "notification.push.type", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryPushSender implements PushSender {
+
+    private final List<PushMessage> sent = new CopyOnWriteArrayList<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final Map<String, Deque<PushResult.Outcome>> scripted = new ConcurrentHashMap<>();
+
+    @Override
+    public List<PushResult> send(List<PushMessage> messages) {
+        if (messages.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BATCH_SIZE + "개까지 전송할 수 있습니다");
+        }
+        batchSizes.add(messages.size());
+        List<PushResult> results = new ArrayList<>(messages.size());
+        for (PushMessage message : messages) {
+            Deque<PushResult.Outcome> outcomes = scripted.get(message.token());
+            PushResult.Outcome outcome = outcomes != null ? outcomes.poll() : null;
+            if (outcome == null || outcome == PushResult.Outcome.SENT) {
+                sent.add(message);
+                results.add(PushResult.sent(message));
+            } else {
+                results.add(PushResult.failed(message, outcome, outcome.name()));
+            }
+        }
+        log.debug("메모리 푸시 전송: {}개", messages.size());
+        return results;
+    }
+
+    public void respondWith(String token, PushResult.Outcome... outcomes) {
+        scripted.computeIfAbsent(token, t -> new ConcurrentLinkedDeque<>()).addAll(List.of(outcomes));
+    }
+
+    public List<PushMessage> sent() {
+        return List.copyOf(sent);
+    }
+
+    public List<Integer> batchSizes() {
+        return List.copyOf(batchSizes);
+    }
+
+    public void clear() {
+        sent.clear();
+        batchSizes.clear();
+        scripted.clear();
+    }
+}
@@ -0,0 +1,72 @@
+package com.expirationtracker.notification;
+
+import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.entity.OutboxEvent;
+import com.expirationtracker.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 카드 변경 알림을 아웃박스에 기록 (호출한 쓰기 트랜잭션에 함께 커밋되고 전송은 OutboxRelay가 담당)
+ * 사용자 ID가 없는 카드는 받을 기기가 없으므로 기록하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    static final String EXPIRED_TITLE = "기프티콘 유효기간 만료";
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public void cardCreated(GiftCard card) {
+        append(OutboxEvent.Type.CARD_CREATED, card, "기프티콘 등록",
+                String.format("%s (유효기간 %s)", card.getName(), card.getExpirationDate()));
+    }
+
+    // 일괄 등록은 카드마다가 아니라 사용자별 요약 하나
+    public void cardsCreated(String userId, int count) {
+        if (userId == null || count == 0) {
+            return;
+        }
+        outboxEventRepository.save(event(OutboxEvent.Type.CARD_CREATED, userId, null,
+                "기프티콘 등록", String.format("기프티콘 %d개가 등록되었습니다", count)));
+    }
+
+    public void cardUsed(GiftCard card) {
+        append(OutboxEvent.Type.CARD_USED, card, "기프티콘 사용 완료", card.getName());
+    }
+
+    public void cardExpired(GiftCard card) {
+        append(OutboxEvent.Type.CARD_EXPIRED, card, EXPIRED_TITLE, card.getName());
+    }
+
+    // 만료 일괄 처리(ExpirationSweeper) - 엔티티를 읽지 않고 INSERT ... SELECT 한 번으로 잠근 카드들의 만료 알림 기록
+    public int cardsExpired(Collection<Long> cardIds, LocalDateTime now) {
+        return outboxEventRepository.insertExpired(cardIds, EXPIRED_TITLE, now);
+    }
+
+    private void append(OutboxEvent.Type type, GiftCard card, String title, String body) {
+        if (card.getUserId() == null) {
+            return;
+        }
+        outboxEventRepository.save(event(type, card.getUserId(), card.getId(), title, body));
+    }
+
+    private static OutboxEvent event(OutboxEvent.Type type, String userId, Long cardId, String title, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .eventType(type)
+                .userId(userId)
+                .cardId(cardId)
+                .title(title)
+                .body(body)
+                .status(OutboxEvent.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
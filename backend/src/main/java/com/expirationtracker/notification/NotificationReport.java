@@ -0,0 +1,14 @@
+package com.expirationtracker.notification;
+
+/**
+ * 알림 전송 결과 요약
+ *
+ * @param users         알림 대상 사용자 수
+ * @param messages      처음 보낸 메시지 수 (기기 토큰 수)
+ * @param sent          성공
+ * @param retried       재시도한 메시지 수 (재시도 횟수만큼 중복 집계)
+ * @param invalidTokens 만료/해지되어 삭제한 토큰 수
+ * @param failed        최종 실패
+ */
+public record NotificationReport(int users, int messages, int sent, int retried, int invalidTokens, int failed) {
+}
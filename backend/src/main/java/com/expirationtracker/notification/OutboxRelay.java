@@ -0,0 +1,232 @@
+package com.expirationtracker.notification;
+
+import com.expirationtracker.dto.OutboxBacklog;
+import com.expirationtracker.entity.DeviceToken;
+import com.expirationtracker.entity.OutboxEvent;
+import com.expirationtracker.repository.DeviceTokenRepository;
+import com.expirationtracker.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 아웃박스 전송기
+ * 전송 대기 알림을 FOR UPDATE SKIP LOCKED로 batch-size개씩 잠가서 가져오므로 여러 노드가 겹치지 않게 나눠 처리한다.
+ * 가져온 알림은 claim-lease 동안 다른 노드가 가져가지 않도록 표시만 하고, 전송(속도 제한 대기, FCM 호출)은 트랜잭션 밖에서 한다.
+ * 성공한 알림은 삭제하고, 일시적 오류는 retry-delay부터 두 배씩(최대 max-retry-delay) 늦춰 다시 시도하며,
+ * max-attempts회 실패하면 FAILED로 남기고, FAILED 알림은 failed-retention이 지나면 삭제한다.
+ * 지표: notification.outbox.pending(대기 수), notification.outbox.lag(가장 오래된 대기 알림의 경과 초),
+ * notification.outbox.delivered / retried / failed
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final PushSender pushSender;
+    private final PushRateLimiter rateLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+    private final Duration failedRetention;
+    private final Duration claimLease;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       DeviceTokenRepository deviceTokenRepository,
+                       PushSender pushSender,
+                       PushRateLimiter rateLimiter,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${notification.outbox.batch-size:100}") int batchSize,
+                       @Value("${notification.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${notification.outbox.retry-delay:PT10S}") Duration retryDelay,
+                       @Value("${notification.outbox.max-retry-delay:PT1H}") Duration maxRetryDelay,
+                       @Value("${notification.outbox.failed-retention:P7D}") Duration failedRetention,
+                       @Value("${notification.outbox.claim-lease:PT5M}") Duration claimLease) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.pushSender = pushSender;
+        this.rateLimiter = rateLimiter;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.failedRetention = failedRetention;
+        this.claimLease = claimLease;
+
+        Gauge.builder("notification.outbox.pending", pending, AtomicLong::get)
+                .description("전송 대기 중인 알림 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("가장 오래된 대기 알림의 경과 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.delivered = meterRegistry.counter("notification.outbox.delivered");
+        this.retried = meterRegistry.counter("notification.outbox.retried");
+        this.failed = meterRegistry.counter("notification.outbox.failed");
+    }
+
+    /**
+     * 전송 가능한 알림이 남지 않을 때까지 batch-size개씩 전송
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:1000}")
+    public void relay() {
+        int processed;
+        do {
+            processed = relayBatch();
+        } while (processed == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.metrics-interval:15000}")
+    public void refreshMetrics() {
+        OutboxBacklog backlog = outboxEventRepository.findBacklog();
+        pending.set(backlog.count() != null ? backlog.count() : 0);
+        lagSeconds.set(backlog.oldestCreatedAt() != null
+                ? Math.max(0, Duration.between(backlog.oldestCreatedAt(), LocalDateTime.now()).toSeconds())
+                : 0);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.cleanup-interval:3600000}")
+    public void removeFailed() {
+        Integer removed = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteFailedCreatedBefore(LocalDateTime.now().minus(failedRetention)));
+        if (removed != null && removed > 0) {
+            log.info("보관 기간이 지난 FAILED 알림 {}개 삭제", removed);
+        }
+    }
+
+    /**
+     * 알림 한 묶음을 전송하고 결과 반영
+     * 잠가서 가져온 알림은 claim-lease만큼 다음 시도 시각을 미뤄 표시한 뒤 바로 커밋하고(다른 노드는 가져가지 않음),
+     * 전송은 트랜잭션과 커넥션 없이 하며, 결과(삭제/재시도)는 두 번째 짧은 트랜잭션에서 반영한다.
+     * 전송 중 노드가 종료되면 임대 시간이 지난 뒤 다른 노드가 다시 보낸다. (최소 한 번 전송)
+     *
+     * @return 처리한 알림 수
+     */
+    int relayBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> userIds = events.stream().map(OutboxEvent::getUserId).collect(Collectors.toSet());
+        Map<String, List<String>> tokensByUser = deviceTokenRepository.findByUserIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(DeviceToken::getUserId,
+                        Collectors.mapping(DeviceToken::getToken, Collectors.toList())));
+
+        // 메시지 순서대로 원래 알림을 기록해 두고 결과를 알림 단위로 모음
+        List<PushMessage> messages = new ArrayList<>();
+        List<OutboxEvent> owners = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            for (String token : tokensByUser.getOrDefault(event.getUserId(), List.of())) {
+                messages.add(toMessage(token, event));
+                owners.add(event);
+            }
+        }
+        Map<Long, String> retryable = new HashMap<>();
+        Set<String> invalidTokens = new HashSet<>();
+        deliver(messages, owners, retryable, invalidTokens);
+
+        transactionTemplate.executeWithoutResult(status -> complete(events, retryable, invalidTokens));
+        return events.size();
+    }
+
+    // 전송할 알림을 잠가서 가져오고 임대 시간만큼 다음 시도 시각을 미룸 (커밋하면 잠금은 풀리지만 다른 노드의 대상에서 빠짐)
+    private List<OutboxEvent> claim(LocalDateTime now) {
+        List<OutboxEvent> events = outboxEventRepository.claimBatch(now, batchSize);
+        LocalDateTime leaseUntil = now.plus(claimLease);
+        events.forEach(event -> event.setNextAttemptAt(leaseUntil));
+        return events;
+    }
+
+    // 성공한 알림은 삭제하고, 기기 토큰 중 하나라도 일시적 오류이면 알림 전체를 다시 보냄 (최소 한 번 전송)
+    private void complete(List<OutboxEvent> events, Map<Long, String> retryable, Set<String> invalidTokens) {
+        if (!invalidTokens.isEmpty()) {
+            deviceTokenRepository.deleteAllByIdInBatch(invalidTokens);
+        }
+        List<Long> done = events.stream().map(OutboxEvent::getId).filter(id -> !retryable.containsKey(id)).toList();
+        if (!done.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(done);
+        }
+        // 재시도할 알림은 현재 행을 다시 읽어 반영 (임대가 끝나 다른 노드가 먼저 처리한 행은 건너뜀)
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : outboxEventRepository.findAllById(retryable.keySet())) {
+            reschedule(event, retryable.get(event.getId()), now);
+        }
+        delivered.increment(done.size());
+    }
+
+    private void deliver(List<PushMessage> messages, List<OutboxEvent> owners,
+                         Map<Long, String> retryable, Set<String> invalidTokens) {
+        for (int from = 0; from < messages.size(); from += PushSender.MAX_BATCH_SIZE) {
+            int to = Math.min(from + PushSender.MAX_BATCH_SIZE, messages.size());
+            try {
+                rateLimiter.acquire(to - from);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("알림 전송이 중단되었습니다", e);
+            }
+            List<PushResult> results = pushSender.send(messages.subList(from, to));
+            for (int i = 0; i < results.size(); i++) {
+                PushResult result = results.get(i);
+                switch (result.outcome()) {
+                    case SENT -> {
+                    }
+                    case RETRYABLE -> retryable.put(owners.get(from + i).getId(), result.error());
+                    case INVALID_TOKEN -> invalidTokens.add(result.message().token());
+                    case FAILED -> log.warn("알림 전송 실패 (outbox id {}): {}", owners.get(from + i).getId(), result.error());
+                }
+            }
+        }
+    }
+
+    private void reschedule(OutboxEvent event, String error, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(error != null && error.length() > 255 ? error.substring(0, 255) : error);
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxEvent.Status.FAILED);
+            failed.increment();
+            log.warn("알림 전송 {}회 실패로 중단 (outbox id {}): {}", attempts, event.getId(), error);
+            return;
+        }
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        event.setNextAttemptAt(now.plus(delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay));
+        retried.increment();
+    }
+
+    private static PushMessage toMessage(String token, OutboxEvent event) {
+        Map<String, String> data = new HashMap<>();
+        data.put("type", event.getEventType().name());
+        if (event.getCardId() != null) {
+            data.put("cardId", String.valueOf(event.getCardId()));
+        }
+        return new PushMessage(token, event.getTitle(), event.getBody(), data);
+    }
+}
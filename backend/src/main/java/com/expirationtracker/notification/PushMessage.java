@@ -0,0 +1,9 @@
+package com.expirationtracker.notification;
+
+import java.util.Map;
+
+/**
+ * 기기 토큰 하나로 보내는 알림
+ */
+public record PushMessage(String token, String title, String body, Map<String, String> data) {
+}
@@ -0,0 +1,42 @@
+package com.expirationtracker.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 전송 수 제한 (요청한 수만큼 다음 전송 가능 시각을 뒤로 미루는 방식)
+ * 요약 알림과 아웃박스 전송이 같은 인스턴스를 공유하므로 노드 전체의 전송 속도가 제한된다.
+ */
+@Component
+class PushRateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeNanos = System.nanoTime();
+
+    PushRateLimiter(@Value("${notification.push.rate-per-second:500}") int permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond > 0 이어야 합니다");
+        }
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    }
+
+    /**
+     * permits개를 보낼 수 있을 때까지 대기
+     */
+    void acquire(int permits) throws InterruptedException {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    // 대기 시간을 반환하고 다음 전송 가능 시각을 permits만큼 뒤로 미룸
+    synchronized long reserve(int permits) {
+        long now = System.nanoTime();
+        long start = Math.max(now, nextFreeNanos);
+        nextFreeNanos = start + permits * intervalNanos;
+        return start - now;
+    }
+}
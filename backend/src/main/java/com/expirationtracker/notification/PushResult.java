@@ -0,0 +1,22 @@
+package com.expirationtracker.notification;
+
+/**
+ * 메시지별 전송 결과
+ */
+public record PushResult(PushMessage message, Outcome outcome, String error) {
+
+    public enum Outcome {
+        SENT,
+        RETRYABLE,      // 일시적 오류 (서버 오류, 할당량 초과 등) - 잠시 후 재시도
+        INVALID_TOKEN,  // 만료/해지된 토큰 - 토큰 삭제
+        FAILED          // 재시도해도 성공할 수 없는 오류
+    }
+
+    public static PushResult sent(PushMessage message) {
+        return new PushResult(message, Outcome.SENT, null);
+    }
+
+    public static PushResult failed(PushMessage message, Outcome outcome, String error) {
+        return new PushResult(message, outcome, error);
+    }
+}
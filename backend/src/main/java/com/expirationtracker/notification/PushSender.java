@@ -0,0 +1,15 @@
+package com.expirationtracker.notification;
+
+import java.util.List;
+
+/**
+ * 푸시 알림 전송 (FCM 또는 로컬/테스트용 메모리 구현)
+ * 한 번에 최대 MAX_BATCH_SIZE개까지 묶어서 전송하고 메시지별 결과를 같은 순서로 반환한다.
+ */
+public interface PushSender {
+
+    // FCM 일괄 전송 한도
+    int MAX_BATCH_SIZE = 500;
+
+    List<PushResult> send(List<PushMessage> messages);
+}
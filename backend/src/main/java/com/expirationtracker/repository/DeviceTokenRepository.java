@@ -0,0 +1,14 @@
+package com.expirationtracker.repository;
+
+import com.expirationtracker.entity.DeviceToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeviceTokenRepository extends JpaRepository<DeviceToken, String> {
+
+    List<DeviceToken> findByUserIdIn(Collection<String> userIds);
+}
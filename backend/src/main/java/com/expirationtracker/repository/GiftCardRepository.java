@@ -1,19 +1,37 @@
 package com.expirationtracker.repository;
 
+import com.expirationtracker.dto.CardCountRow;
+import com.expirationtracker.dto.CardExpiration;
+import com.expirationtracker.dto.CardListFingerprint;
+import com.expirationtracker.dto.CardStatsRow;
+import com.expirationtracker.dto.ExpiringCardRow;
+import com.expirationtracker.dto.GiftCardSummary;
+import com.expirationtracker.dto.UserCardStatsRow;
 import com.expirationtracker.entity.CardStatus;
 import com.expirationtracker.entity.Category;
 import com.expirationtracker.entity.GiftCard;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GiftCardRepository extends JpaRepository<GiftCard, Long> {
 
+    int STREAM_FETCH_SIZE = 100;
+
     // 상태별 조회
     List<GiftCard> findByStatus(CardStatus status);
 
@@ -28,13 +46,181 @@ public interface GiftCardRepository extends JpaRepository<GiftCard, Long> {
     @Query("SELECT g FROM GiftCard g WHERE g.status = 'ACTIVE' AND g.expirationDate < :today")
     List<GiftCard> findExpiredCards(@Param("today") LocalDate today);
 
+    // 만료 일괄 처리 - id 범위 (fromId, toId] 안의 만료된 ACTIVE 카드를 잠그고 id 반환 (트랜잭션 안에서 사용)
+    // 잠근 카드는 커밋 전까지 다른 요청이 사용 완료 등으로 바꿀 수 없으므로 알림 기록과 UPDATE가 같은 카드를 대상으로 함
+    @Query(value = "SELECT id FROM gift_cards WHERE status = 'ACTIVE' AND expiration_date < :today " +
+                   "AND id > :fromId AND id <= :toId FOR UPDATE", nativeQuery = true)
+    List<Long> lockExpiredActiveIdsInRange(@Param("today") LocalDate today, @Param("fromId") long fromId,
+                                           @Param("toId") long toId);
+
+    // 만료 일괄 처리 - 잠근 카드를 한 번의 UPDATE로 EXPIRED 처리
+    @Modifying
+    // 벌크 UPDATE는 @Version을 자동으로 올리지 않으므로 직접 증가 (동시 수정 감지 및 ETag 갱신)
+    @Query("UPDATE GiftCard g SET g.status = com.expirationtracker.entity.CardStatus.EXPIRED, g.updatedAt = :now, " +
+           "g.version = g.version + 1 " +
+           "WHERE g.id IN :ids AND g.status = 'ACTIVE'")
+    int expireActiveCards(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // 조건부 조회용 - 캐시된 카드가 최신인지 버전만 확인
+    @Query("SELECT g.version FROM GiftCard g WHERE g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT MAX(g.id) FROM GiftCard g")
+    Long findMaxId();
+
     // 사용자별 조회 (추후 인증 구현 시 사용)
     List<GiftCard> findByUserId(String userId);
 
-    // 상태별 개수
-    long countByStatus(CardStatus status);
+    // ===== 키셋(커서) 페이지네이션 =====
+    // 첫 페이지는 정렬만, 이후 페이지는 마지막 행의 (정렬 키, id) 다음부터 조회하여 OFFSET 없이 일정한 비용을 유지
+    // "정렬 키 >= :값" 조건은 OR 조건만으로는 인덱스 범위 검색을 못 하는 DB를 위한 것 (결과는 동일)
+
+    List<GiftCard> findAllByOrderByCreatedAtAscIdAsc(Pageable pageable);
+
+    @Query("SELECT g FROM GiftCard g WHERE g.createdAt >= :createdAt " +
+           "AND (g.createdAt > :createdAt OR (g.createdAt = :createdAt AND g.id > :id)) " +
+           "ORDER BY g.createdAt ASC, g.id ASC")
+    List<GiftCard> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    List<GiftCard> findByStatusOrderByCreatedAtAscIdAsc(CardStatus status, Pageable pageable);
+
+    @Query("SELECT g FROM GiftCard g WHERE g.status = :status AND g.createdAt >= :createdAt " +
+           "AND (g.createdAt > :createdAt OR (g.createdAt = :createdAt AND g.id > :id)) " +
+           "ORDER BY g.createdAt ASC, g.id ASC")
+    List<GiftCard> findPageByStatusAfter(@Param("status") CardStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Pageable pageable);
+
+    List<GiftCard> findByCategoryOrderByCreatedAtAscIdAsc(Category category, Pageable pageable);
+
+    @Query("SELECT g FROM GiftCard g WHERE g.category = :category AND g.createdAt >= :createdAt " +
+           "AND (g.createdAt > :createdAt OR (g.createdAt = :createdAt AND g.id > :id)) " +
+           "ORDER BY g.createdAt ASC, g.id ASC")
+    List<GiftCard> findPageByCategoryAfter(@Param("category") Category category, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT g FROM GiftCard g WHERE g.status = 'ACTIVE' AND g.expirationDate BETWEEN :today AND :endDate " +
+           "ORDER BY g.expirationDate ASC, g.id ASC")
+    List<GiftCard> findExpiringSoonPage(@Param("today") LocalDate today, @Param("endDate") LocalDate endDate, Pageable pageable);
+
+    @Query("SELECT g FROM GiftCard g WHERE g.status = 'ACTIVE' AND g.expirationDate BETWEEN :today AND :endDate " +
+           "AND g.expirationDate >= :expirationDate " +
+           "AND (g.expirationDate > :expirationDate OR (g.expirationDate = :expirationDate AND g.id > :id)) " +
+           "ORDER BY g.expirationDate ASC, g.id ASC")
+    List<GiftCard> findExpiringSoonPageAfter(@Param("today") LocalDate today, @Param("endDate") LocalDate endDate,
+                                             @Param("expirationDate") LocalDate expirationDate, @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query("SELECT g FROM GiftCard g WHERE g.status = 'ACTIVE' AND g.expirationDate < :today " +
+           "ORDER BY g.expirationDate ASC, g.id ASC")
+    List<GiftCard> findExpiredCardsPage(@Param("today") LocalDate today, Pageable pageable);
+
+    @Query("SELECT g FROM GiftCard g WHERE g.status = 'ACTIVE' AND g.expirationDate < :today " +
+           "AND g.expirationDate >= :expirationDate " +
+           "AND (g.expirationDate > :expirationDate OR (g.expirationDate = :expirationDate AND g.id > :id)) " +
+           "ORDER BY g.expirationDate ASC, g.id ASC")
+    List<GiftCard> findExpiredCardsPageAfter(@Param("today") LocalDate today,
+                                             @Param("expirationDate") LocalDate expirationDate, @Param("id") Long id,
+                                             Pageable pageable);
+
+    // 전체 스트리밍 조회 (NDJSON 내보내기용, 트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("SELECT g FROM GiftCard g ORDER BY g.id ASC")
+    Stream<GiftCard> streamAll();
+
+    // ===== 목록 화면용 요약 프로젝션 (필요한 컬럼만 조회) =====
+
+    String SUMMARY_SELECT = "SELECT new com.expirationtracker.dto.GiftCardSummary(" +
+            "g.id, g.name, g.category, g.expirationDate, g.status, g.barcode, g.thumbnailHash) FROM GiftCard g ";
+
+    @Query(SUMMARY_SELECT)
+    List<GiftCardSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE g.userId = :userId")
+    List<GiftCardSummary> findSummariesByUserId(@Param("userId") String userId);
+
+    @Query(SUMMARY_SELECT + "WHERE g.status = :status")
+    List<GiftCardSummary> findSummariesByStatus(@Param("status") CardStatus status);
+
+    @Query(SUMMARY_SELECT + "WHERE g.category = :category")
+    List<GiftCardSummary> findSummariesByCategory(@Param("category") Category category);
+
+    @Query(SUMMARY_SELECT + "WHERE g.status = 'ACTIVE' AND g.expirationDate BETWEEN :today AND :endDate ORDER BY g.expirationDate ASC")
+    List<GiftCardSummary> findExpiringSoonSummaries(@Param("today") LocalDate today, @Param("endDate") LocalDate endDate);
+
+    @Query(SUMMARY_SELECT + "WHERE g.status = 'ACTIVE' AND g.expirationDate < :today")
+    List<GiftCardSummary> findExpiredSummaries(@Param("today") LocalDate today);
+
+    // ===== 통계 집계 =====
+    // 상태별/카테고리별 개수와 임박 개수(7일, 30일)를 조건부 집계로 한 번에 계산 (테이블 1회 스캔)
+    String STATS_SELECT = "SELECT new com.expirationtracker.dto.CardStatsRow(g.status, g.category, COUNT(g), " +
+            "SUM(CASE WHEN g.status = 'ACTIVE' AND g.expirationDate BETWEEN :today AND :end7 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN g.status = 'ACTIVE' AND g.expirationDate BETWEEN :today AND :end30 THEN 1 ELSE 0 END)) " +
+            "FROM GiftCard g ";
+
+    @Query(STATS_SELECT + "GROUP BY g.status, g.category")
+    List<CardStatsRow> aggregateStats(@Param("today") LocalDate today,
+                                      @Param("end7") LocalDate end7,
+                                      @Param("end30") LocalDate end30);
+
+    @Query(STATS_SELECT + "WHERE g.userId = :userId GROUP BY g.status, g.category")
+    List<CardStatsRow> aggregateStatsByUser(@Param("userId") String userId,
+                                            @Param("today") LocalDate today,
+                                            @Param("end7") LocalDate end7,
+                                            @Param("end30") LocalDate end30);
+
+    // 사용자별 통계 - 같은 조건부 집계를 (사용자, 상태, 카테고리)로 묶어 한 번에 계산 (사용자 없는 카드 제외)
+    @Query("SELECT new com.expirationtracker.dto.UserCardStatsRow(g.userId, g.status, g.category, COUNT(g), " +
+            "SUM(CASE WHEN g.status = 'ACTIVE' AND g.expirationDate BETWEEN :today AND :end7 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN g.status = 'ACTIVE' AND g.expirationDate BETWEEN :today AND :end30 THEN 1 ELSE 0 END)) " +
+            "FROM GiftCard g WHERE g.userId IS NOT NULL GROUP BY g.userId, g.status, g.category ORDER BY g.userId")
+    List<UserCardStatsRow> aggregateStatsGroupedByUser(@Param("today") LocalDate today,
+                                                       @Param("end7") LocalDate end7,
+                                                       @Param("end30") LocalDate end30);
+
+    // ===== 목록 ETag용 지문 =====
+    // 엔티티를 읽지 않고 집계 한 번으로 목록 변경 여부 판단
+    // (추가/삭제/이동은 개수와 id 합, 수정은 버전 합과 최종 수정 시각에 반영됨)
+    String FINGERPRINT_SELECT = "SELECT new com.expirationtracker.dto.CardListFingerprint(" +
+            "COUNT(g), SUM(g.version), SUM(g.id), MAX(g.updatedAt)) FROM GiftCard g ";
+
+    @Query(FINGERPRINT_SELECT)
+    CardListFingerprint fingerprintAll();
+
+    @Query(FINGERPRINT_SELECT + "WHERE g.userId = :userId")
+    CardListFingerprint fingerprintByUserId(@Param("userId") String userId);
+
+    @Query(FINGERPRINT_SELECT + "WHERE g.status = :status")
+    CardListFingerprint fingerprintByStatus(@Param("status") CardStatus status);
+
+    @Query(FINGERPRINT_SELECT + "WHERE g.category = :category")
+    CardListFingerprint fingerprintByCategory(@Param("category") Category category);
+
+    @Query(FINGERPRINT_SELECT + "WHERE g.status = 'ACTIVE' AND g.expirationDate BETWEEN :today AND :endDate")
+    CardListFingerprint fingerprintExpiringSoon(@Param("today") LocalDate today, @Param("endDate") LocalDate endDate);
+
+    @Query(FINGERPRINT_SELECT + "WHERE g.status = 'ACTIVE' AND g.expirationDate < :today")
+    CardListFingerprint fingerprintExpired(@Param("today") LocalDate today);
+
+    // 만료 인덱스(ExpirationIndex) 구축용
+    @Query("SELECT new com.expirationtracker.dto.CardExpiration(g.id, g.expirationDate) FROM GiftCard g WHERE g.status = 'ACTIVE'")
+    List<CardExpiration> findActiveExpirations();
+
+    // 만료 임박 알림용 - 임박 카드가 있는 사용자 ID를 afterUserId 다음부터 순서대로 (키셋 페이지)
+    @Query("SELECT DISTINCT g.userId FROM GiftCard g WHERE g.status = 'ACTIVE' AND g.userId > :afterUserId " +
+           "AND g.expirationDate BETWEEN :today AND :endDate ORDER BY g.userId ASC")
+    List<String> findExpiringSoonUserIds(@Param("today") LocalDate today, @Param("endDate") LocalDate endDate,
+                                         @Param("afterUserId") String afterUserId, Pageable pageable);
+
+    // 만료 임박 알림용 - 지정한 사용자들의 임박 카드 (사용자별로 연속되도록 정렬)
+    @Query("SELECT new com.expirationtracker.dto.ExpiringCardRow(g.userId, g.id, g.name, g.expirationDate) " +
+           "FROM GiftCard g WHERE g.status = 'ACTIVE' AND g.userId IN :userIds " +
+           "AND g.expirationDate BETWEEN :today AND :endDate " +
+           "ORDER BY g.userId ASC, g.expirationDate ASC, g.id ASC")
+    List<ExpiringCardRow> findExpiringSoonByUserIds(@Param("today") LocalDate today, @Param("endDate") LocalDate endDate,
+                                                    @Param("userIds") Collection<String> userIds);
 
-    // 유효기간 임박 개수
-    @Query("SELECT COUNT(g) FROM GiftCard g WHERE g.status = 'ACTIVE' AND g.expirationDate BETWEEN :today AND :endDate")
-    long countExpiringSoon(@Param("today") LocalDate today, @Param("endDate") LocalDate endDate);
+    // 통계 카운터(CardStatistics) 재계산용 전체 그룹별 개수
+    @Query("SELECT new com.expirationtracker.dto.CardCountRow(g.userId, g.status, g.category, g.expirationDate, COUNT(g)) " +
+            "FROM GiftCard g GROUP BY g.userId, g.status, g.category, g.expirationDate")
+    List<CardCountRow> countByUserStatusCategoryAndExpirationDate();
 }
@@ -0,0 +1,20 @@
+package com.expirationtracker.repository;
+
+import com.expirationtracker.entity.OcrResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OcrResultRepository extends JpaRepository<OcrResult, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OcrResult o WHERE o.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,39 @@
+package com.expirationtracker.repository;
+
+import com.expirationtracker.dto.OutboxBacklog;
+import com.expirationtracker.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // 전송할 알림을 잠그고 가져옴 - 다른 노드가 잠근 행은 건너뛰므로 여러 노드가 동시에 나눠서 처리 (트랜잭션 안에서 사용)
+    @Query(value = "SELECT * FROM notification_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 만료 일괄 처리용 - GiftCardRepository.lockExpiredActiveIdsInRange로 잠근 카드마다 만료 알림 기록
+    @Modifying
+    @Query(value = "INSERT INTO notification_outbox " +
+                   "(event_type, user_id, card_id, title, body, status, attempts, next_attempt_at, created_at) " +
+                   "SELECT 'CARD_EXPIRED', g.user_id, g.id, :title, g.name, 'PENDING', 0, :now, :now " +
+                   "FROM gift_cards g WHERE g.id IN :ids AND g.user_id IS NOT NULL", nativeQuery = true)
+    int insertExpired(@Param("ids") Collection<Long> ids, @Param("title") String title, @Param("now") LocalDateTime now);
+
+    // 최대 시도 횟수를 넘겨 FAILED로 남은 알림 정리
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.status = 'FAILED' AND o.createdAt < :before")
+    int deleteFailedCreatedBefore(@Param("before") LocalDateTime before);
+
+    @Query("SELECT new com.expirationtracker.dto.OutboxBacklog(COUNT(o), MIN(o.createdAt)) " +
+           "FROM OutboxEvent o WHERE o.status = 'PENDING'")
+    OutboxBacklog findBacklog();
+}
@@ -0,0 +1,117 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.GiftCard;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 카드 조회 캐시 (id별 카드, 전체/사용자별/상태별 목록)
+ * 크기와 TTL로 만료되며, 쓰기 경로에서 변경된 카드가 속한 항목만 즉시 + 커밋 후 한 번 더 제거한다.
+ * (커밋 전에 다른 요청이 이전 값을 다시 적재하는 경우 대비)
+ * 적중/미스 지표는 cache.gets{cache=cards.by-id|cards.lists} 로 노출된다.
+ */
+@Component
+public class CardCache {
+
+    private final Cache<Long, GiftCard> byId;
+    private final Cache<ListKey, List<GiftCard>> lists;
+
+    private record ListKey(String kind, Object value) {
+        static final ListKey ALL = new ListKey("all", "");
+
+        static ListKey user(String userId) {
+            return new ListKey("user", userId);
+        }
+
+        static ListKey status(CardStatus status) {
+            return new ListKey("status", status);
+        }
+    }
+
+    public CardCache(MeterRegistry meterRegistry,
+                     @Value("${cache.cards.maximum-size:10000}") long maximumSize,
+                     @Value("${cache.cards.ttl:PT5M}") Duration ttl) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // 목록은 포함된 카드 수만큼 가중치를 두어 전체 캐시가 카드 maximumSize개 수준을 넘지 않도록 제한
+        this.lists = Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .<ListKey, List<GiftCard>>weigher((key, cards) -> cards.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "cards.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, lists, "cards.lists");
+    }
+
+    public GiftCard getCard(Long id, Function<Long, GiftCard> loader) {
+        return byId.get(id, loader);
+    }
+
+    // 캐시에 없는 id만 loader로 한 번에 조회 (찾지 못한 id는 결과에서 빠짐)
+    public Map<Long, GiftCard> getCards(Collection<Long> ids, Function<Set<Long>, Map<Long, GiftCard>> loader) {
+        return byId.getAll(ids, missing -> loader.apply(Set.copyOf(missing)));
+    }
+
+    public List<GiftCard> getAll(Supplier<List<GiftCard>> loader) {
+        return getList(ListKey.ALL, loader);
+    }
+
+    public List<GiftCard> getByUser(String userId, Supplier<List<GiftCard>> loader) {
+        return getList(ListKey.user(userId), loader);
+    }
+
+    public List<GiftCard> getByStatus(CardStatus status, Supplier<List<GiftCard>> loader) {
+        return getList(ListKey.status(status), loader);
+    }
+
+    private List<GiftCard> getList(ListKey key, Supplier<List<GiftCard>> loader) {
+        return lists.get(key, k -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * 카드의 현재 상태 기준으로 관련 항목 제거 (상태가 바뀌는 경우 변경 전후로 각각 호출)
+     */
+    public void evict(GiftCard card) {
+        Long id = card.getId();
+        String userId = card.getUserId();
+        CardStatus status = card.getStatus();
+        evict(id, userId, status);
+        TransactionCallbacks.afterCommit(() -> evict(id, userId, status));
+    }
+
+    // 일괄 만료 처리 등 어떤 카드가 바뀌었는지 알 수 없는 경우
+    public void invalidateAll() {
+        byId.invalidateAll();
+        lists.invalidateAll();
+    }
+
+    private void evict(Long id, String userId, CardStatus status) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        lists.invalidate(ListKey.ALL);
+        if (userId != null) {
+            lists.invalidate(ListKey.user(userId));
+        }
+        if (status != null) {
+            lists.invalidate(ListKey.status(status));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.dto.CardCountRow;
+import com.expirationtracker.dto.CardStats;
+import com.expirationtracker.dto.CardStatsRow;
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.repository.GiftCardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 카드 통계 카운터
+ * 쓰기 경로(등록/수정/사용/삭제)에서 커밋 후 LongAdder 카운터를 증감하여 통계 조회 시 DB에 접근하지 않는다.
+ * 일괄 만료 처리나 롤백 누락 등으로 생긴 오차는 주기적으로 DB 집계 결과로 교체하여 바로잡는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardStatistics {
+
+    private static final int STATUS_COUNT = CardStatus.values().length;
+    private static final int CATEGORY_COUNT = Category.values().length;
+
+    private final GiftCardRepository giftCardRepository;
+
+    // 첫 재계산 전에는 null (조회 시 DB 집계로 대체)
+    private volatile State state;
+
+    /**
+     * 카운터에 반영되는 카드 속성
+     */
+    public record CardKey(String userId, CardStatus status, Category category, LocalDate expirationDate) {
+        public static CardKey of(GiftCard card) {
+            return new CardKey(card.getUserId(), card.getStatus(), card.getCategory(), card.getExpirationDate());
+        }
+    }
+
+    public void recordCreated(GiftCard card) {
+        CardKey key = CardKey.of(card);
+        TransactionCallbacks.afterCommit(() -> apply(key, 1));
+    }
+
+    public void recordDeleted(GiftCard card) {
+        CardKey key = CardKey.of(card);
+        TransactionCallbacks.afterCommit(() -> apply(key, -1));
+    }
+
+    public void recordChanged(CardKey before, GiftCard card) {
+        CardKey after = CardKey.of(card);
+        if (before.equals(after)) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            apply(before, -1);
+            apply(after, 1);
+        });
+    }
+
+    public boolean isReady() {
+        return state != null;
+    }
+
+    /**
+     * 현재 카운터 기준 통계 (userId가 null이면 전체)
+     *
+     * @return 아직 초기 집계 전이면 empty
+     */
+    public Optional<CardStats> snapshot(String userId, LocalDate today) {
+        State current = state;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Counters counters = userId == null ? current.global : current.byUser.get(userId);
+        if (counters == null) {
+            return Optional.of(CardStats.from(List.of()));
+        }
+        return Optional.of(CardStats.from(counters.toRows(today)));
+    }
+
+    /**
+     * DB 집계로 카운터 전체를 다시 계산하여 교체
+     * 집계 쿼리와 교체 사이에 커밋된 변경은 다음 재계산에서 반영된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${statistics.reconcile-interval:600000}",
+            initialDelayString = "${statistics.reconcile-interval:600000}")
+    public void reconcile() {
+        State rebuilt = new State();
+        for (CardCountRow row : giftCardRepository.countByUserStatusCategoryAndExpirationDate()) {
+            CardKey key = new CardKey(row.userId(), row.status(), row.category(), row.expirationDate());
+            rebuilt.add(key, row.count());
+        }
+
+        State previous = state;
+        state = rebuilt;
+        if (previous != null) {
+            long drift = rebuilt.global.total() - previous.global.total();
+            if (drift != 0) {
+                log.warn("통계 카운터 보정: 전체 개수 오차 {}", drift);
+            }
+        }
+        log.debug("통계 카운터 재계산 완료: 전체 {}개, 사용자 {}명", rebuilt.global.total(), rebuilt.byUser.size());
+    }
+
+    private void apply(CardKey key, long delta) {
+        State current = state;
+        if (current != null) {
+            current.add(key, delta);
+        }
+    }
+
+    private static final class State {
+        final Counters global = new Counters();
+        final Map<String, Counters> byUser = new ConcurrentHashMap<>();
+
+        void add(CardKey key, long delta) {
+            global.add(key, delta);
+            if (key.userId() != null) {
+                byUser.computeIfAbsent(key.userId(), id -> new Counters()).add(key, delta);
+            }
+        }
+    }
+
+    private static final class Counters {
+        // [상태][카테고리]
+        final LongAdder[][] byStatusCategory = new LongAdder[STATUS_COUNT][CATEGORY_COUNT];
+        // ACTIVE 카드의 유효기간별 [카테고리] 개수 (임박 개수 계산용)
+        final Map<LocalDate, LongAdder[]> activeByExpiration = new ConcurrentHashMap<>();
+
+        Counters() {
+            for (LongAdder[] row : byStatusCategory) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = new LongAdder();
+                }
+            }
+        }
+
+        void add(CardKey key, long delta) {
+            if (key.status() == null || key.category() == null) {
+                return;
+            }
+            byStatusCategory[key.status().ordinal()][key.category().ordinal()].add(delta);
+            if (key.status() == CardStatus.ACTIVE && key.expirationDate() != null) {
+                activeByExpiration.computeIfAbsent(key.expirationDate(), date -> newAdders())
+                        [key.category().ordinal()].add(delta);
+            }
+        }
+
+        long total() {
+            long total = 0;
+            for (LongAdder[] row : byStatusCategory) {
+                for (LongAdder adder : row) {
+                    total += adder.sum();
+                }
+            }
+            return total;
+        }
+
+        List<CardStatsRow> toRows(LocalDate today) {
+            List<CardStatsRow> rows = new ArrayList<>();
+            for (CardStatus status : CardStatus.values()) {
+                for (Category category : Category.values()) {
+                    long count = byStatusCategory[status.ordinal()][category.ordinal()].sum();
+                    if (count == 0) {
+                        continue;
+                    }
+                    long soon7 = status == CardStatus.ACTIVE ? activeBetween(category, today, today.plusDays(7)) : 0;
+                    long soon30 = status == CardStatus.ACTIVE ? activeBetween(category, today, today.plusDays(30)) : 0;
+                    rows.add(new CardStatsRow(status, category, count, soon7, soon30));
+                }
+            }
+            return rows;
+        }
+
+        private long activeBetween(Category category, LocalDate from, LocalDate to) {
+            long sum = 0;
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                LongAdder[] adders = activeByExpiration.get(date);
+                if (adders != null) {
+                    sum += adders[category.ordinal()].sum();
+                }
+            }
+            return sum;
+        }
+
+        private static LongAdder[] newAdders() {
+            LongAdder[] adders = new LongAdder[CATEGORY_COUNT];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+}
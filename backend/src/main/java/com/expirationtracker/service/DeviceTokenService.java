@@ -0,0 +1,33 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.entity.DeviceToken;
+import com.expirationtracker.repository.DeviceTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class DeviceTokenService {
+
+    private final DeviceTokenRepository deviceTokenRepository;
+
+    // 같은 토큰이 다른 사용자로 다시 등록되면 (기기 로그인 변경) 사용자만 교체
+    @Transactional
+    public void register(String userId, String token) {
+        DeviceToken deviceToken = deviceTokenRepository.findById(token)
+                .orElseGet(() -> DeviceToken.builder()
+                        .token(token)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+        deviceToken.setUserId(userId);
+        deviceTokenRepository.save(deviceToken);
+    }
+
+    @Transactional
+    public void unregister(String token) {
+        deviceTokenRepository.deleteById(token);
+    }
+}
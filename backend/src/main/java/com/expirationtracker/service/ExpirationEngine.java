@@ -0,0 +1,215 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.dto.CardExpiration;
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.repository.GiftCardRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 카드별 만료 시각에 맞춰 EXPIRED로 전환하는 타이밍 휠 기반 만료 처리기
+ * ACTIVE 카드마다 (유효기간 다음 날 0시 + id 기반 분산 오프셋)을 휠에 등록하고,
+ * 1초 단위로 시각을 진행하며 만료된 카드를 묶어서 ExpirationSweeper로 전환한다.
+ * 분산 오프셋으로 같은 날 만료되는 카드들의 DB 쓰기가 자정 한 순간에 몰리지 않는다.
+ * 사용자별 시간대 정보가 없으므로 expiration.zone(기본: 서버 시간대)을 기준으로 한다.
+ * 다른 노드에서 등록된 카드 등 놓친 카드는 ExpirationScheduler의 일괄 처리가 보완한다.
+ */
+@Component
+@Slf4j
+public class ExpirationEngine {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 60;
+    private static final int EXPIRE_BATCH_SIZE = 500;
+
+    private final GiftCardRepository giftCardRepository;
+    private final ExpirationSweeper expirationSweeper;
+    private final Clock clock;
+    private final ZoneId zone;
+    private final long spreadMillis;
+    private final long retryDelayMillis;
+    private final boolean enabled;
+
+    private final TimingWheel<Long> wheel;
+    private final Map<Long, TimingWheel.Timeout<Long>> timeouts = new ConcurrentHashMap<>();
+    // 등록 시점에 이미 만료 시각이 지난 카드 (재시작 전에 만료된 카드 등) - 다음 tick에 함께 처리
+    private final Queue<Long> overdue = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "expiration-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ExpirationEngine(GiftCardRepository giftCardRepository,
+                            ExpirationSweeper expirationSweeper,
+                            @Value("${expiration.engine.enabled:true}") boolean enabled,
+                            @Value("${expiration.zone:}") String zone,
+                            @Value("${expiration.engine.spread:PT1H}") Duration spread,
+                            @Value("${expiration.engine.retry-delay:PT1M}") Duration retryDelay) {
+        this(giftCardRepository, expirationSweeper, enabled,
+                zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone), spread, retryDelay, Clock.systemUTC());
+    }
+
+    ExpirationEngine(GiftCardRepository giftCardRepository, ExpirationSweeper expirationSweeper, boolean enabled,
+                     ZoneId zone, Duration spread, Duration retryDelay, Clock clock) {
+        this.giftCardRepository = giftCardRepository;
+        this.expirationSweeper = expirationSweeper;
+        this.enabled = enabled;
+        this.zone = zone;
+        this.spreadMillis = spread.toMillis();
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, clock.millis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        load();
+        // 예외가 나면 이후 실행이 중단되므로 tick 단위로 잡아서 기록
+        ticker.scheduleWithFixedDelay(() -> {
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                log.error("만료 처리기 tick 실패", e);
+            }
+        }, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // ACTIVE 카드 전체를 만료 시각으로 등록
+    void load() {
+        List<CardExpiration> expirations = giftCardRepository.findActiveExpirations();
+        for (CardExpiration expiration : expirations) {
+            schedule(expiration.id(), expiration.expirationDate());
+        }
+        log.info("만료 처리기 시작: ACTIVE 카드 {}개 등록", expirations.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * 카드 등록/수정 후 호출 - ACTIVE이면 만료 시각으로 (재)등록, 아니면 등록 해제 (커밋 후 반영)
+     */
+    public void track(GiftCard card) {
+        if (!enabled) {
+            return;
+        }
+        Long id = card.getId();
+        LocalDate date = card.getStatus() == CardStatus.ACTIVE ? card.getExpirationDate() : null;
+        TransactionCallbacks.afterCommit(() -> {
+            if (date != null) {
+                schedule(id, date);
+            } else {
+                cancel(id);
+            }
+        });
+    }
+
+    /**
+     * 카드 삭제 후 호출 (커밋 후 반영)
+     */
+    public void untrack(Long id) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> cancel(id));
+    }
+
+    int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    // 유효기간 다음 날 0시(expiration.zone) + 분산 오프셋
+    long deadlineOf(Long id, LocalDate expirationDate) {
+        long midnight = expirationDate.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        long offset = spreadMillis > 0 ? Math.floorMod(id * 0x9E3779B97F4A7C15L, spreadMillis) : 0;
+        return midnight + offset;
+    }
+
+    void tick() {
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advance(clock.millis());
+        }
+        for (Long id : due) {
+            timeouts.remove(id);
+        }
+        for (Long id = overdue.poll(); id != null; id = overdue.poll()) {
+            due.add(id);
+        }
+        expire(due);
+    }
+
+    private void schedule(Long id, LocalDate expirationDate) {
+        schedule(id, deadlineOf(id, expirationDate));
+    }
+
+    private void schedule(Long id, long deadline) {
+        TimingWheel.Timeout<Long> timeout;
+        synchronized (wheel) {
+            timeout = wheel.schedule(id, deadline);
+        }
+        TimingWheel.Timeout<Long> previous = timeout != null ? timeouts.put(id, timeout) : timeouts.remove(id);
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (timeout == null) {
+            overdue.add(id);
+        }
+    }
+
+    private void cancel(Long id) {
+        TimingWheel.Timeout<Long> previous = timeouts.remove(id);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void expire(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock.withZone(zone));
+        for (int from = 0; from < ids.size(); from += EXPIRE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + EXPIRE_BATCH_SIZE, ids.size()));
+            try {
+                int expired = expirationSweeper.expireCards(batch, today);
+                log.debug("만료 처리기: {}개 중 {}개 만료", batch.size(), expired);
+            } catch (RuntimeException e) {
+                // 동시 수정(낙관적 잠금 충돌) 등으로 실패한 묶음은 잠시 후 다시 시도
+                log.warn("만료 처리 실패, {}ms 후 재시도: {}개", retryDelayMillis, batch.size(), e);
+                long retryAt = clock.millis() + retryDelayMillis;
+                for (Long id : batch) {
+                    schedule(id, retryAt);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.dto.CardExpiration;
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.repository.GiftCardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * ACTIVE 카드의 유효기간 인덱스 (epoch-day -> 카드 id)
+ * 임박/만료 조회를 DB 범위 쿼리 대신 메모리 범위 탐색으로 처리하고, 결과 id만 조회한다.
+ * 순서는 (유효기간, id) 오름차순으로 기존 ORDER BY expirationDate ASC와 같다.
+ * 쓰기 경로에서 커밋 후 갱신하며, 일괄 만료 처리 후와 주기적으로 DB 기준으로 다시 구축한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpirationIndex {
+
+    private final GiftCardRepository giftCardRepository;
+
+    // 변경은 lock 안에서만, 조회는 잠금 없이 수행
+    private final Object lock = new Object();
+    private volatile NavigableMap<Long, NavigableSet<Long>> index;
+    // 재구축 중에 들어온 변경 (구축이 끝나면 새 인덱스에 다시 적용, 집합 연산이라 중복 적용해도 결과가 같음)
+    private List<Consumer<NavigableMap<Long, NavigableSet<Long>>>> pending;
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    public void recordCreated(GiftCard card) {
+        Long id = card.getId();
+        LocalDate date = activeDate(card);
+        TransactionCallbacks.afterCommit(() -> apply(map -> add(map, id, date)));
+    }
+
+    public void recordChanged(LocalDate previousDate, GiftCard card) {
+        Long id = card.getId();
+        LocalDate date = activeDate(card);
+        TransactionCallbacks.afterCommit(() -> apply(map -> {
+            remove(map, id, previousDate);
+            add(map, id, date);
+        }));
+    }
+
+    public void recordDeleted(GiftCard card) {
+        Long id = card.getId();
+        LocalDate date = card.getExpirationDate();
+        TransactionCallbacks.afterCommit(() -> apply(map -> remove(map, id, date)));
+    }
+
+    /**
+     * 유효기간이 from ~ to(포함)인 ACTIVE 카드 id
+     */
+    public List<Long> idsBetween(LocalDate from, LocalDate to) {
+        return flatten(index.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values());
+    }
+
+    /**
+     * 유효기간이 date 이전인 ACTIVE 카드 id
+     */
+    public List<Long> idsBefore(LocalDate date) {
+        return flatten(index.headMap(date.toEpochDay(), false).values());
+    }
+
+    public long countBetween(LocalDate from, LocalDate to) {
+        long count = 0;
+        for (NavigableSet<Long> ids : index.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+            count += ids.size();
+        }
+        return count;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${expiration.index.rebuild-interval:3600000}",
+            initialDelayString = "${expiration.index.rebuild-interval:3600000}")
+    public void rebuild() {
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+
+        NavigableMap<Long, NavigableSet<Long>> rebuilt = new ConcurrentSkipListMap<>();
+        List<CardExpiration> expirations = giftCardRepository.findActiveExpirations();
+        for (CardExpiration expiration : expirations) {
+            add(rebuilt, expiration.id(), expiration.expirationDate());
+        }
+
+        synchronized (lock) {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            index = rebuilt;
+        }
+        log.debug("만료 인덱스 구축 완료: ACTIVE 카드 {}개, {}일", expirations.size(), rebuilt.size());
+    }
+
+    private void apply(Consumer<NavigableMap<Long, NavigableSet<Long>>> change) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(change);
+            }
+            if (index != null) {
+                change.accept(index);
+            }
+        }
+    }
+
+    private static LocalDate activeDate(GiftCard card) {
+        return card.getStatus() == CardStatus.ACTIVE ? card.getExpirationDate() : null;
+    }
+
+    private static void add(NavigableMap<Long, NavigableSet<Long>> map, Long id, LocalDate date) {
+        if (id == null || date == null) {
+            return;
+        }
+        map.computeIfAbsent(date.toEpochDay(), day -> new ConcurrentSkipListSet<>()).add(id);
+    }
+
+    private static void remove(NavigableMap<Long, NavigableSet<Long>> map, Long id, LocalDate date) {
+        if (id == null || date == null) {
+            return;
+        }
+        NavigableSet<Long> ids = map.get(date.toEpochDay());
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            map.remove(date.toEpochDay());
+        }
+    }
+
+    private static List<Long> flatten(Collection<NavigableSet<Long>> buckets) {
+        List<Long> ids = new ArrayList<>();
+        for (NavigableSet<Long> bucket : buckets) {
+            ids.addAll(bucket);
+        }
+        return ids;
+    }
+}
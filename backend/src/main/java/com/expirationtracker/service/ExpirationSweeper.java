@@ -0,0 +1,239 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.entity.SweepCheckpoint;
+import com.expirationtracker.notification.NotificationOutbox;
+import com.expirationtracker.repository.GiftCardRepository;
+import com.expirationtracker.repository.SweepCheckpointRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 만료 카드 일괄 처리
+ * id 범위 청크마다 짧은 트랜잭션으로 대상 카드를 잠그고 UPDATE 한 번을 실행하며, 같은 트랜잭션에서 진행 위치를 기록한다.
+ * 만료 알림도 UPDATE 직전에 같은 트랜잭션에서 잠근 카드만 INSERT ... SELECT로 아웃박스에 기록한다.
+ * 중간에 노드가 종료되어도 같은 날 다시 실행하면 마지막으로 완료된 청크 다음부터 이어서 처리한다.
+ * 샤드가 마지막 청크까지 끝나면 그 트랜잭션에서 진행 위치를 지우므로, 같은 날 다시 실행하면 처음부터 다시 처리한다.
+ * 청크는 샤드 N개에 번갈아 배정되고(청크 번호 % N), 샤드마다 가상 스레드 하나가 자기 커넥션/트랜잭션으로 처리한다.
+ * 샤드 수는 커넥션 풀 크기에서 일반 요청용 여유분을 뺀 값을 넘지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpirationSweeper {
+
+    static final String CHECKPOINT_NAME = "expiration-sweep";
+    // 일괄 처리 중에도 일반 요청이 쓸 수 있도록 남겨두는 커넥션 수
+    static final int RESERVED_CONNECTIONS = 2;
+
+    private final GiftCardRepository giftCardRepository;
+    private final SweepCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CardStatistics cardStatistics;
+    private final ExpirationIndex expirationIndex;
+    private final CardCache cardCache;
+    private final DataSource dataSource;
+    private final NotificationOutbox notificationOutbox;
+
+    @Value("${expiration.sweep.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    // 0이면 커넥션 풀 크기 기준으로 자동 결정
+    @Value("${expiration.sweep.shards:0}")
+    private int shards = 0;
+
+    /**
+     * 샤드 하나의 처리 결과
+     */
+    record ShardResult(int shard, int chunks, int expired, long elapsedMillis) {
+    }
+
+    /**
+     * today 이전에 만료된 ACTIVE 카드를 EXPIRED로 변경
+     *
+     * @return 변경된 카드 수
+     */
+    public int sweep(LocalDate today) {
+        Long maxId = giftCardRepository.findMaxId();
+        if (maxId == null) {
+            return 0;
+        }
+
+        int shardCount = (int) Math.min(shardCount(), Math.ceilDiv(maxId, chunkSize));
+        long startedAt = System.nanoTime();
+        List<ShardResult> results = new ArrayList<>();
+        if (shardCount == 1) {
+            results.add(sweepShard(today, maxId, 0, 1));
+        } else {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<ShardResult>> futures = new ArrayList<>();
+                for (int shard = 0; shard < shardCount; shard++) {
+                    int index = shard;
+                    futures.add(executor.submit(() -> sweepShard(today, maxId, index, shardCount)));
+                }
+                for (Future<ShardResult> future : futures) {
+                    results.add(join(future));
+                }
+            }
+        }
+
+        int total = results.stream().mapToInt(ShardResult::expired).sum();
+        int chunks = results.stream().mapToInt(ShardResult::chunks).sum();
+        log.info("만료 처리 완료: 샤드 {}개, {}개 청크, {}개 카드, {}ms",
+                shardCount, chunks, total, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return total;
+    }
+
+    /**
+     * 설정값과 커넥션 풀 크기 중 작은 값 (최소 1)
+     */
+    int shardCount() {
+        Integer poolSize = maximumPoolSize();
+        int limit = poolSize != null ? Math.max(1, poolSize - RESERVED_CONNECTIONS) : 1;
+        return shards > 0 ? Math.min(shards, limit) : limit;
+    }
+
+    // 샤드 shard가 맡은 청크(번호 % shardCount == shard)를 순서대로 처리
+    private ShardResult sweepShard(LocalDate today, long maxId, int shard, int shardCount) {
+        long startedAt = System.nanoTime();
+        String name = checkpointName(shard, shardCount);
+
+        // 청크 c는 (c * chunkSize, (c + 1) * chunkSize] 구간
+        long chunk = shard;
+        long fromId = chunk * chunkSize;
+        Long lastId = checkpointRepository.findById(name)
+                .filter(checkpoint -> today.equals(checkpoint.getSweepDate()))
+                .map(SweepCheckpoint::getLastId)
+                .orElse(null);
+        if (lastId != null && lastId > 0) {
+            log.info("만료 처리 재개 [{}]: id {} 이후부터", name, lastId);
+            // 마지막 청크가 당시 maxId에서 잘렸으면 그 청크의 나머지부터, 아니면 이 샤드의 다음 청크부터
+            long lastChunk = Math.ceilDiv(lastId, chunkSize) - 1;
+            chunk = lastId < (lastChunk + 1) * chunkSize ? lastChunk : lastChunk + shardCount;
+            fromId = Math.max(lastId, chunk * chunkSize);
+        }
+
+        int total = 0;
+        int chunks = 0;
+        while (fromId < maxId) {
+            long start = fromId;
+            long end = Math.min((chunk + 1) * chunkSize, maxId);
+            boolean last = (chunk + shardCount) * chunkSize >= maxId;
+            Integer updated = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> ids = giftCardRepository.lockExpiredActiveIdsInRange(today, start, end);
+                int count = 0;
+                if (!ids.isEmpty()) {
+                    notificationOutbox.cardsExpired(ids, now);
+                    count = giftCardRepository.expireActiveCards(ids, now);
+                }
+                if (last) {
+                    // 샤드 완료 - 같은 날 다시 실행해도 그 사이 만료된 카드를 놓치지 않도록 진행 위치 삭제
+                    checkpointRepository.deleteById(name);
+                } else {
+                    checkpointRepository.save(SweepCheckpoint.builder()
+                            .name(name)
+                            .sweepDate(today)
+                            .lastId(end)
+                            .updatedAt(LocalDateTime.now())
+                            .build());
+                }
+                return count;
+            });
+            total += updated != null ? updated : 0;
+            chunks++;
+            log.debug("만료 처리 [{}] 청크 ({}, {}]: {}개 (누적 {}개 청크, {}개 카드)",
+                    name, start, end, updated, chunks, total);
+            chunk += shardCount;
+            fromId = chunk * chunkSize;
+        }
+        if (chunks == 0 && lastId != null) {
+            // 남은 청크가 없는 진행 위치 (완료 표시 전에 남은 것) - 다음 실행은 처음부터
+            checkpointRepository.deleteById(name);
+        }
+
+        ShardResult result = new ShardResult(shard, chunks, total,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        if (shardCount > 1) {
+            log.info("만료 처리 샤드 {}/{} 완료: {}개 청크, {}개 카드, {}ms",
+                    shard + 1, shardCount, result.chunks(), result.expired(), result.elapsedMillis());
+        }
+        return result;
+    }
+
+    // 샤드 수가 바뀌면 청크 배정이 달라지므로 이름에 샤드 수 포함 (1개일 때는 기존 이름 유지)
+    static String checkpointName(int shard, int shardCount) {
+        return shardCount == 1 ? CHECKPOINT_NAME : CHECKPOINT_NAME + "-" + shard + "/" + shardCount;
+    }
+
+    private Integer maximumPoolSize() {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("커넥션 풀 크기 확인 실패, 샤드 1개로 처리", e);
+        }
+        return null;
+    }
+
+    private static ShardResult join(Future<ShardResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("만료 처리가 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            // 실패한 샤드는 진행 위치가 남아 있으므로 다음 실행에서 이어서 처리
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 지정한 카드 중 today 이전에 만료된 ACTIVE 카드만 EXPIRED로 변경 (ExpirationEngine에서 사용)
+     * 엔티티 단위로 변경하므로 버전이 올라가고 통계/인덱스/캐시도 함께 갱신된다.
+     *
+     * @return 변경된 카드 수
+     */
+    public int expireCards(Collection<Long> ids, LocalDate today) {
+        Integer expired = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (GiftCard card : giftCardRepository.findAllById(ids)) {
+                if (card.getStatus() != CardStatus.ACTIVE || !card.getExpirationDate().isBefore(today)) {
+                    continue;
+                }
+                CardStatistics.CardKey before = CardStatistics.CardKey.of(card);
+                cardCache.evict(card);
+                card.markAsExpired();
+                cardStatistics.recordChanged(before, card);
+                expirationIndex.recordChanged(before.expirationDate(), card);
+                cardCache.evict(card);
+                notificationOutbox.cardExpired(card);
+                count++;
+            }
+            return count;
+        });
+        return expired != null ? expired : 0;
+    }
+}
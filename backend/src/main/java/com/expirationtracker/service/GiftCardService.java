@@ -1,17 +1,43 @@
 package com.expirationtracker.service;
 
+import com.expirationtracker.dto.BatchCreateResponse;
+import com.expirationtracker.dto.CardCursor;
+import com.expirationtracker.dto.CardListFingerprint;
+import com.expirationtracker.dto.CardStats;
+import com.expirationtracker.dto.CardStatsRow;
 import com.expirationtracker.dto.GiftCardRequest;
+import com.expirationtracker.dto.GiftCardSummary;
+import com.expirationtracker.dto.PageResponse;
 import com.expirationtracker.entity.CardStatus;
 import com.expirationtracker.entity.Category;
 import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.notification.NotificationOutbox;
 import com.expirationtracker.repository.GiftCardRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,22 +45,93 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class GiftCardService {
 
+    static final int MAX_BATCH_SIZE = 5000;
+    private static final int INSERT_BATCH_SIZE = 50;  // hibernate.jdbc.batch_size와 동일
+    // streamAllCards 호출자가 응답을 flush할 간격 (DB에서 한 번에 가져오는 행 수와 같게 맞춤)
+    public static final int STREAM_FLUSH_SIZE = GiftCardRepository.STREAM_FETCH_SIZE;
+
     private final GiftCardRepository giftCardRepository;
+    private final ImageStorageService imageStorageService;
+    private final EntityManager entityManager;
+    private final ExpirationSweeper expirationSweeper;
+    private final Validator validator;
+    private final CardStatistics cardStatistics;
+    private final CardCache cardCache;
+    private final ExpirationIndex expirationIndex;
+    private final ExpirationEngine expirationEngine;
+    private final NotificationOutbox notificationOutbox;
+    private final TransactionTemplate transactionTemplate;
 
     // 전체 조회
     public List<GiftCard> getAllCards() {
-        return giftCardRepository.findAll();
+        return cardCache.getAll(giftCardRepository::findAll);
+    }
+
+    // 사용자별 조회
+    public List<GiftCard> getCardsByUser(String userId) {
+        return cardCache.getByUser(userId, () -> giftCardRepository.findByUserId(userId));
+    }
+
+    // 전체 스트리밍 조회 - 한 건씩 전달 후 영속성 컨텍스트에서 분리하여 힙 사용량을 일정하게 유지
+    public long streamAllCards(Consumer<GiftCard> consumer) {
+        long count = 0;
+        try (Stream<GiftCard> cards = giftCardRepository.streamAll()) {
+            Iterator<GiftCard> iterator = cards.iterator();
+            while (iterator.hasNext()) {
+                GiftCard card = iterator.next();
+                consumer.accept(card);
+                entityManager.detach(card);
+                count++;
+            }
+        }
+        return count;
     }
 
     // ID로 조회
     public GiftCard getCardById(Long id) {
+        return cardCache.getCard(id, this::loadCard);
+    }
+
+    /**
+     * 조건부 조회(ETag)용 카드 조회
+     * 캐시는 노드마다 따로 있어 다른 노드의 변경을 놓칠 수 있으므로, DB의 현재 버전과 다르면 캐시를 비우고 다시 적재한다.
+     * ETag와 응답 본문은 모두 반환된 카드 하나로 만든다.
+     */
+    public GiftCard getCurrentCard(Long id) {
+        Long version = giftCardRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("카드를 찾을 수 없습니다: " + id));
+        GiftCard card = getCardById(id);
+        if (!version.equals(card.getVersion())) {
+            cardCache.evict(card);
+            card = getCardById(id);
+        }
+        return card;
+    }
+
+    // 수정 경로용 - 변경 감지를 위해 캐시를 거치지 않고 영속 상태의 엔티티를 조회
+    private GiftCard loadCard(Long id) {
         return giftCardRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("카드를 찾을 수 없습니다: " + id));
     }
 
+    // ID로 조회 (이미지 포함, 상세 화면용)
+    public GiftCard getCardWithImage(Long id) {
+        return withImage(getCardById(id));
+    }
+
+    // 캐시된 카드는 공유되므로 복사본에 이미지를 채움
+    public GiftCard withImage(GiftCard card) {
+        if (card.getImageHash() == null) {
+            return card;
+        }
+        return card.toBuilder()
+                .imageBase64(imageStorageService.loadAsDataUri(card.getImageHash(), card.getImageContentType()))
+                .build();
+    }
+
     // 상태별 조회
     public List<GiftCard> getCardsByStatus(CardStatus status) {
-        return giftCardRepository.findByStatus(status);
+        return cardCache.getByStatus(status, () -> giftCardRepository.findByStatus(status));
     }
 
     // 카테고리별 조회
@@ -46,79 +143,390 @@ public class GiftCardService {
     public List<GiftCard> getExpiringSoonCards(int days) {
         LocalDate today = LocalDate.now();
         LocalDate endDate = today.plusDays(days);
+        if (expirationIndex.isReady()) {
+            return hydrate(expirationIndex.idsBetween(today, endDate),
+                    card -> !card.getExpirationDate().isBefore(today) && !card.getExpirationDate().isAfter(endDate));
+        }
         return giftCardRepository.findExpiringSoon(today, endDate);
     }
 
     // 만료된 카드 조회
     public List<GiftCard> getExpiredCards() {
-        return giftCardRepository.findExpiredCards(LocalDate.now());
+        LocalDate today = LocalDate.now();
+        if (expirationIndex.isReady()) {
+            return hydrate(expirationIndex.idsBefore(today), card -> card.getExpirationDate().isBefore(today));
+        }
+        return giftCardRepository.findExpiredCards(today);
     }
 
-    // 생성
-    @Transactional
+    // 인덱스 순서대로 카드를 채움 (캐시에 없는 카드만 한 번에 조회, 다른 노드의 변경으로 조건이 달라진 카드는 제외)
+    private List<GiftCard> hydrate(List<Long> ids, Predicate<GiftCard> condition) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, GiftCard> cards = cardCache.getCards(ids, missing -> giftCardRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(GiftCard::getId, Function.identity())));
+        List<GiftCard> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            GiftCard card = cards.get(id);
+            if (card != null && card.getStatus() == CardStatus.ACTIVE && condition.test(card)) {
+                result.add(card);
+            }
+        }
+        return result;
+    }
+
+    // ===== 목록 ETag용 지문 =====
+
+    // 응답의 expired, daysUntilExpiration은 날짜에 따라 달라지므로 모든 목록 지문에 기준일을 포함
+    public CardListFingerprint fingerprintAll() {
+        return giftCardRepository.fingerprintAll().withScope(LocalDate.now());
+    }
+
+    public CardListFingerprint fingerprintByUser(String userId) {
+        return giftCardRepository.fingerprintByUserId(userId).withScope(LocalDate.now());
+    }
+
+    public CardListFingerprint fingerprintByStatus(CardStatus status) {
+        return giftCardRepository.fingerprintByStatus(status).withScope(LocalDate.now());
+    }
+
+    public CardListFingerprint fingerprintByCategory(Category category) {
+        return giftCardRepository.fingerprintByCategory(category).withScope(LocalDate.now());
+    }
+
+    // 날짜 기준 목록은 조회 범위도 날짜에 따라 달라지므로 기준일과 기간을 포함
+    public CardListFingerprint fingerprintExpiringSoon(int days) {
+        LocalDate today = LocalDate.now();
+        return giftCardRepository.fingerprintExpiringSoon(today, today.plusDays(days)).withScope(today + "+" + days);
+    }
+
+    public CardListFingerprint fingerprintExpired() {
+        LocalDate today = LocalDate.now();
+        return giftCardRepository.fingerprintExpired(today).withScope(today);
+    }
+
+    // ===== 목록 화면용 요약 조회 =====
+
+    public List<GiftCardSummary> getAllCardSummaries() {
+        return giftCardRepository.findAllSummaries();
+    }
+
+    public List<GiftCardSummary> getCardSummariesByUser(String userId) {
+        return giftCardRepository.findSummariesByUserId(userId);
+    }
+
+    public List<GiftCardSummary> getCardSummariesByStatus(CardStatus status) {
+        return giftCardRepository.findSummariesByStatus(status);
+    }
+
+    public List<GiftCardSummary> getCardSummariesByCategory(Category category) {
+        return giftCardRepository.findSummariesByCategory(category);
+    }
+
+    public List<GiftCardSummary> getExpiringSoonCardSummaries(int days) {
+        LocalDate today = LocalDate.now();
+        return giftCardRepository.findExpiringSoonSummaries(today, today.plusDays(days));
+    }
+
+    public List<GiftCardSummary> getExpiredCardSummaries() {
+        return giftCardRepository.findExpiredSummaries(LocalDate.now());
+    }
+
+    // ===== 커서 페이지 조회 =====
+
+    // 전체 조회 (createdAt, id 순)
+    public PageResponse<GiftCard> getAllCardsPage(CardCursor cursor, int limit) {
+        List<GiftCard> rows = cursor == null
+                ? giftCardRepository.findAllByOrderByCreatedAtAscIdAsc(pageOf(limit))
+                : giftCardRepository.findPageAfter(cursor.createdAt(), cursor.id(), pageOf(limit));
+        return toPage(rows, limit, CardCursor.SortKey.CREATED_AT);
+    }
+
+    // 상태별 조회 (createdAt, id 순)
+    public PageResponse<GiftCard> getCardsByStatusPage(CardStatus status, CardCursor cursor, int limit) {
+        List<GiftCard> rows = cursor == null
+                ? giftCardRepository.findByStatusOrderByCreatedAtAscIdAsc(status, pageOf(limit))
+                : giftCardRepository.findPageByStatusAfter(status, cursor.createdAt(), cursor.id(), pageOf(limit));
+        return toPage(rows, limit, CardCursor.SortKey.CREATED_AT);
+    }
+
+    // 카테고리별 조회 (createdAt, id 순)
+    public PageResponse<GiftCard> getCardsByCategoryPage(Category category, CardCursor cursor, int limit) {
+        List<GiftCard> rows = cursor == null
+                ? giftCardRepository.findByCategoryOrderByCreatedAtAscIdAsc(category, pageOf(limit))
+                : giftCardRepository.findPageByCategoryAfter(category, cursor.createdAt(), cursor.id(), pageOf(limit));
+        return toPage(rows, limit, CardCursor.SortKey.CREATED_AT);
+    }
+
+    // 유효기간 임박 조회 (expirationDate, id 순)
+    public PageResponse<GiftCard> getExpiringSoonCardsPage(int days, CardCursor cursor, int limit) {
+        LocalDate today = LocalDate.now();
+        LocalDate endDate = today.plusDays(days);
+        List<GiftCard> rows = cursor == null
+                ? giftCardRepository.findExpiringSoonPage(today, endDate, pageOf(limit))
+                : giftCardRepository.findExpiringSoonPageAfter(today, endDate, cursor.expirationDate(), cursor.id(), pageOf(limit));
+        return toPage(rows, limit, CardCursor.SortKey.EXPIRATION_DATE);
+    }
+
+    // 만료된 카드 조회 (expirationDate, id 순)
+    public PageResponse<GiftCard> getExpiredCardsPage(CardCursor cursor, int limit) {
+        LocalDate today = LocalDate.now();
+        List<GiftCard> rows = cursor == null
+                ? giftCardRepository.findExpiredCardsPage(today, pageOf(limit))
+                : giftCardRepository.findExpiredCardsPageAfter(today, cursor.expirationDate(), cursor.id(), pageOf(limit));
+        return toPage(rows, limit, CardCursor.SortKey.EXPIRATION_DATE);
+    }
+
+    // 다음 페이지 존재 여부 확인을 위해 limit + 1개 조회
+    private Pageable pageOf(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    private PageResponse<GiftCard> toPage(List<GiftCard> rows, int limit, CardCursor.SortKey sortKey) {
+        boolean hasNext = rows.size() > limit;
+        List<GiftCard> items = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? CardCursor.of(items.get(items.size() - 1), sortKey).encode() : null;
+        return PageResponse.<GiftCard>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    // 생성 - 이미지 정규화/저장은 커넥션을 잡지 않은 채 먼저 하고, 트랜잭션에서는 해시 참조만 기록
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public GiftCard createCard(GiftCardRequest request) {
-        GiftCard card = GiftCard.builder()
+        ImageStorageService.StoredImage image = imageStorageService.store(request.getImageBase64());
+        return transactionTemplate.execute(status -> {
+            GiftCard card = newCard(request);
+            applyImage(card, image);
+
+            GiftCard saved = giftCardRepository.save(card);
+            cardStatistics.recordCreated(saved);
+            expirationIndex.recordCreated(saved);
+            expirationEngine.track(saved);
+            cardCache.evict(saved);
+            notificationOutbox.cardCreated(saved);
+            return saved;
+        });
+    }
+
+    private static GiftCard newCard(GiftCardRequest request) {
+        return GiftCard.builder()
                 .name(request.getName())
                 .category(request.getCategory())
                 .expirationDate(request.getExpirationDate())
-                .imageBase64(request.getImageBase64())
                 .barcode(request.getBarcode())
                 .memo(request.getMemo())
                 .userId(request.getUserId())
                 .status(CardStatus.ACTIVE)
                 .build();
+    }
+
+    // 일괄 생성 - 항목별 검증과 이미지 디코딩/저장을 트랜잭션 밖에서 먼저 끝내고,
+    // 트랜잭션에서는 유효한 항목의 배치 INSERT만 실행 (영속성 컨텍스트는 배치 단위로 비움)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchCreateResponse createCards(List<GiftCardRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BATCH_SIZE + "개까지 등록할 수 있습니다");
+        }
+
+        BatchCreateResponse.ItemResult[] results = new BatchCreateResponse.ItemResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<GiftCard> validCards = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            GiftCardRequest request = requests.get(i);
+            String violation = validate(request);
+            if (violation != null) {
+                results[i] = BatchCreateResponse.ItemResult.builder().index(i).success(false).message(violation).build();
+                continue;
+            }
+
+            GiftCard card = newCard(request);
+            try {
+                applyImage(card, imageStorageService.store(request.getImageBase64()));
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchCreateResponse.ItemResult.builder().index(i).success(false)
+                        .message("이미지 형식이 올바르지 않습니다").build();
+                continue;
+            }
+            validIndexes.add(i);
+            validCards.add(card);
+        }
+        transactionTemplate.executeWithoutResult(status -> insertBatches(validIndexes, validCards, results));
+
+        int created = (int) Arrays.stream(results).filter(BatchCreateResponse.ItemResult::isSuccess).count();
+        log.info("카드 일괄 등록: 요청 {}개, 성공 {}개", requests.size(), created);
+        return BatchCreateResponse.builder()
+                .requested(requests.size())
+                .created(created)
+                .failed(requests.size() - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
 
-        return giftCardRepository.save(card);
+    private void insertBatches(List<Integer> indexes, List<GiftCard> cards, BatchCreateResponse.ItemResult[] results) {
+        Map<String, Integer> createdByUser = new HashMap<>();
+        for (int from = 0; from < cards.size(); from += INSERT_BATCH_SIZE) {
+            int to = Math.min(from + INSERT_BATCH_SIZE, cards.size());
+            flushBatch(indexes.subList(from, to), cards.subList(from, to), results, createdByUser);
+        }
+        createdByUser.forEach(notificationOutbox::cardsCreated);
     }
 
-    // 수정
-    @Transactional
+    private String validate(GiftCardRequest request) {
+        if (request == null) {
+            return "요청이 비어있습니다";
+        }
+        Set<ConstraintViolation<GiftCardRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void flushBatch(List<Integer> indexes, List<GiftCard> cards, BatchCreateResponse.ItemResult[] results,
+                            Map<String, Integer> createdByUser) {
+        if (cards.isEmpty()) {
+            return;
+        }
+        giftCardRepository.saveAll(cards);
+        entityManager.flush();
+        for (int i = 0; i < cards.size(); i++) {
+            cardStatistics.recordCreated(cards.get(i));
+            expirationIndex.recordCreated(cards.get(i));
+            expirationEngine.track(cards.get(i));
+            cardCache.evict(cards.get(i));
+            if (cards.get(i).getUserId() != null) {
+                createdByUser.merge(cards.get(i).getUserId(), 1, Integer::sum);
+            }
+            int index = indexes.get(i);
+            results[index] = BatchCreateResponse.ItemResult.builder()
+                    .index(index)
+                    .success(true)
+                    .id(cards.get(i).getId())
+                    .build();
+        }
+        entityManager.clear();
+    }
+
+    // 수정 - 생성과 같이 이미지는 트랜잭션 밖에서 먼저 저장
+    // 없는 카드에 대한 요청으로 이미지가 저장되지 않도록 카드 존재부터 확인
+    // (저장소는 내용 해시로 공유되므로 이후 수정이 실패해도 지우지 않고, 재시도하면 같은 이미지를 다시 참조)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public GiftCard updateCard(Long id, GiftCardRequest request) {
-        GiftCard card = getCardById(id);
+        if (!giftCardRepository.existsById(id)) {
+            throw new RuntimeException("카드를 찾을 수 없습니다: " + id);
+        }
+        ImageStorageService.StoredImage image = imageStorageService.store(request.getImageBase64());
+        return transactionTemplate.execute(status -> {
+            GiftCard card = loadCard(id);
+            CardStatistics.CardKey before = CardStatistics.CardKey.of(card);
+            cardCache.evict(card);
 
-        card.setName(request.getName());
-        card.setCategory(request.getCategory());
-        card.setExpirationDate(request.getExpirationDate());
-        card.setImageBase64(request.getImageBase64());
-        card.setBarcode(request.getBarcode());
-        card.setMemo(request.getMemo());
+            card.setName(request.getName());
+            card.setCategory(request.getCategory());
+            card.setExpirationDate(request.getExpirationDate());
+            applyImage(card, image);
+            card.setBarcode(request.getBarcode());
+            card.setMemo(request.getMemo());
 
-        return giftCardRepository.save(card);
+            GiftCard saved = giftCardRepository.save(card);
+            cardStatistics.recordChanged(before, saved);
+            expirationIndex.recordChanged(before.expirationDate(), saved);
+            expirationEngine.track(saved);
+            cardCache.evict(saved);
+            return saved;
+        });
+    }
+
+    // 미리 저장한 이미지의 해시 참조만 카드에 기록 (이미지가 없으면 기존 이미지 유지)
+    private static void applyImage(GiftCard card, ImageStorageService.StoredImage image) {
+        if (image != null) {
+            card.setImageHash(image.hash());
+            card.setImageContentType(image.contentType());
+            card.setThumbnailHash(image.thumbnailHash());
+        }
+    }
+
+    // 이미지 교체 (바이너리 업로드) - 이미지는 트랜잭션 밖에서 미리 저장하고 참조만 변경
+    @Transactional
+    public GiftCard updateImage(Long id, ImageStorageService.StoredImage image) {
+        GiftCard card = loadCard(id);
+        cardCache.evict(card);
+        card.setImageHash(image.hash());
+        card.setImageContentType(image.contentType());
+        card.setThumbnailHash(image.thumbnailHash());
+        GiftCard saved = giftCardRepository.save(card);
+        cardCache.evict(saved);
+        return saved;
     }
 
     // 삭제
     @Transactional
     public void deleteCard(Long id) {
-        GiftCard card = getCardById(id);
+        GiftCard card = loadCard(id);
         giftCardRepository.delete(card);
+        cardStatistics.recordDeleted(card);
+        expirationIndex.recordDeleted(card);
+        expirationEngine.untrack(card.getId());
+        cardCache.evict(card);
     }
 
     // 사용 완료 처리
     @Transactional
     public GiftCard markAsUsed(Long id) {
-        GiftCard card = getCardById(id);
+        GiftCard card = loadCard(id);
+        CardStatistics.CardKey before = CardStatistics.CardKey.of(card);
+        cardCache.evict(card);
         card.markAsUsed();
-        return giftCardRepository.save(card);
+        GiftCard saved = giftCardRepository.save(card);
+        cardStatistics.recordChanged(before, saved);
+        expirationIndex.recordChanged(before.expirationDate(), saved);
+        expirationEngine.track(saved);
+        cardCache.evict(saved);
+        notificationOutbox.cardUsed(saved);
+        return saved;
     }
 
-    // 만료 처리 (스케줄러에서 사용)
-    @Transactional
-    public void updateExpiredCards() {
-        List<GiftCard> expiredCards = getExpiredCards();
-        expiredCards.forEach(GiftCard::markAsExpired);
-        giftCardRepository.saveAll(expiredCards);
-        log.info("만료된 카드 {}개 업데이트 완료", expiredCards.size());
+    // 만료 처리 (스케줄러에서 사용) - 청크마다 별도 트랜잭션으로 처리하므로 바깥 트랜잭션 없이 실행
+    // 일괄 UPDATE는 카드별 변경을 알 수 없으므로 처리 후 통계 카운터를 다시 계산
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int updateExpiredCards() {
+        int updated = expirationSweeper.sweep(LocalDate.now());
+        if (updated > 0) {
+            cardStatistics.reconcile();
+            expirationIndex.rebuild();
+            cardCache.invalidateAll();
+        }
+        return updated;
     }
 
-    // 통계 - 유효기간 임박 개수
-    public long countExpiringSoon(int days) {
+    // 통계 - 메모리 카운터에서 조회하고, 초기 집계 전에는 단일 집계 쿼리로 계산 (userId 지정 시 해당 사용자만)
+    public CardStats getStats(String userId) {
+        String user = (userId == null || userId.isBlank()) ? null : userId;
         LocalDate today = LocalDate.now();
-        LocalDate endDate = today.plusDays(days);
-        return giftCardRepository.countExpiringSoon(today, endDate);
+        return cardStatistics.snapshot(user, today)
+                .orElseGet(() -> aggregateStats(user, today));
     }
 
-    // 통계 - 상태별 개수
-    public long countByStatus(CardStatus status) {
-        return giftCardRepository.countByStatus(status);
+    private CardStats aggregateStats(String userId, LocalDate today) {
+        LocalDate end7 = today.plusDays(7);
+        LocalDate end30 = today.plusDays(30);
+        List<CardStatsRow> rows = userId == null
+                ? giftCardRepository.aggregateStats(today, end7, end30)
+                : giftCardRepository.aggregateStatsByUser(userId, today, end7, end30);
+        return CardStats.from(rows);
+    }
+
+    // 사용자별 통계 - 사용자마다 쿼리하지 않고 (사용자, 상태, 카테고리) 집계 쿼리 한 번으로 계산
+    public Map<String, CardStats> getStatsByUser() {
+        LocalDate today = LocalDate.now();
+        return CardStats.byUser(giftCardRepository.aggregateStatsGroupedByUser(today, today.plusDays(7), today.plusDays(30)));
     }
 }
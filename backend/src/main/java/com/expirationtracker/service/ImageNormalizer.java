@@ -0,0 +1,193 @@
+package com.expirationtracker.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드 이미지 정규화 (OCR/저장용 축소 JPEG + 목록용 썸네일)
+ * 한 번만 디코딩하며, 원본이 크면 디코딩 단계에서 서브샘플링해 큰 비트맵을 만들지 않는다.
+ * 디코딩/인코딩은 CPU 작업이므로 코어 수 크기의 전용 스레드 풀에서 실행하고,
+ * 대기열이 가득 차면 정규화를 건너뛴다. (호출 측은 원본을 그대로 사용)
+ * JDK에 WebP 인코더가 없으므로 JPEG로 인코딩한다.
+ */
+@Component
+@Slf4j
+public class ImageNormalizer {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    /**
+     * 정규화 결과 (image: 긴 변이 max-dimension 이하인 JPEG, thumbnail: 긴 변이 thumbnail-size 이하인 JPEG)
+     */
+    public record NormalizedImage(byte[] image, byte[] thumbnail, int width, int height) {
+    }
+
+    private final boolean enabled;
+    private final int maxDimension;
+    private final float quality;
+    private final int thumbnailSize;
+    private final float thumbnailQuality;
+    private final ThreadPoolExecutor executor;
+
+    public ImageNormalizer(@Value("${image.processing.enabled:true}") boolean enabled,
+                           @Value("${image.processing.threads:0}") int threads,
+                           @Value("${image.processing.queue-capacity:64}") int queueCapacity,
+                           @Value("${image.processing.max-dimension:1920}") int maxDimension,
+                           @Value("${image.processing.quality:0.85}") float quality,
+                           @Value("${image.processing.thumbnail-size:320}") int thumbnailSize,
+                           @Value("${image.processing.thumbnail-quality:0.7}") float thumbnailQuality) {
+        this.enabled = enabled;
+        this.maxDimension = maxDimension;
+        this.quality = quality;
+        this.thumbnailSize = thumbnailSize;
+        this.thumbnailQuality = thumbnailQuality;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 파일(업로드 임시 파일 등)의 이미지를 정규화 - 이미지가 아니거나 풀이 가득 차면 빈 결과
+     */
+    public CompletableFuture<Optional<NormalizedImage>> normalize(Path source) {
+        return submit(() -> new FileImageInputStream(source.toFile()));
+    }
+
+    public CompletableFuture<Optional<NormalizedImage>> normalize(byte[] source) {
+        return submit(() -> new MemoryCacheImageInputStream(new ByteArrayInputStream(source)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private interface InputOpener {
+        ImageInputStream open() throws IOException;
+    }
+
+    private CompletableFuture<Optional<NormalizedImage>> submit(InputOpener opener) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try (ImageInputStream input = opener.open()) {
+                    return Optional.ofNullable(normalize(input));
+                } catch (IOException | RuntimeException e) {
+                    log.debug("이미지 정규화 실패, 원본 사용", e);
+                    return Optional.empty();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("이미지 처리 대기열이 가득 차 정규화를 건너뜁니다 (image.processing.queue-capacity)");
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+    }
+
+    // 디코딩 가능한 형식이 아니면 null
+    private NormalizedImage normalize(ImageInputStream input) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        BufferedImage decoded;
+        try {
+            reader.setInput(input, true, true);
+            int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+            ImageReadParam param = reader.getDefaultReadParam();
+            // 목표 크기의 2배 이상이면 디코딩하면서 픽셀을 건너뛰어 읽음 (나머지 축소는 보간)
+            int subsampling = Math.max(1, longest / (maxDimension * 2));
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            decoded = reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+
+        BufferedImage image = scale(decoded, maxDimension);
+        BufferedImage thumbnail = scale(image, thumbnailSize);
+        return new NormalizedImage(encode(image, quality), encode(thumbnail, thumbnailQuality),
+                image.getWidth(), image.getHeight());
+    }
+
+    // 긴 변이 limit 이하가 되도록 축소 (확대하지 않음), JPEG로 쓸 수 있도록 알파 채널은 흰 배경으로 합성
+    // 한 번에 크게 줄이면 보간으로 글자가 깨지므로 절반씩 나눠 줄임
+    private static BufferedImage scale(BufferedImage source, int limit) {
+        BufferedImage current = source;
+        do {
+            int longest = Math.max(current.getWidth(), current.getHeight());
+            double ratio = longest > limit ? Math.max(0.5, (double) limit / longest) : 1.0;
+            if (ratio == 1.0 && current.getType() == BufferedImage.TYPE_INT_RGB) {
+                return current;
+            }
+            current = resize(current, ratio);
+        } while (Math.max(current.getWidth(), current.getHeight()) > limit);
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage source, double ratio) {
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encode(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,204 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.storage.BlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 카드 이미지 저장/조회
+ * 클라이언트와는 기존과 같이 data URI(Base64) 형식으로 주고받고, 저장은 BlobStore에 바이너리로 한다.
+ * 바이너리 업로드(multipart, octet-stream)는 Base64/문자열 변환 없이 임시 파일로 받는다.
+ * 저장 전에 ImageNormalizer로 축소 JPEG와 썸네일을 만들고, 축소본이 원본보다 작을 때만 원본 대신 저장한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageStorageService {
+
+    private static final String DEFAULT_CONTENT_TYPE = "image/jpeg";
+
+    private final BlobStore blobStore;
+    private final ImageNormalizer imageNormalizer;
+
+    @Value("${storage.image.max-size:10MB}")
+    private DataSize maxSize = DataSize.ofMegabytes(10);
+
+    /**
+     * 저장된 이미지 참조 (해시 + MIME 타입 + 썸네일 해시, 썸네일을 만들지 못했으면 null)
+     */
+    public record StoredImage(String hash, String contentType, String thumbnailHash) {
+
+        public StoredImage(String hash, String contentType) {
+            this(hash, contentType, null);
+        }
+    }
+
+    /**
+     * Base64 또는 data URI 형식의 이미지를 디코딩하여 저장
+     */
+    public StoredImage store(String imageBase64) {
+        if (imageBase64 == null || imageBase64.isBlank()) {
+            return null;
+        }
+
+        String contentType = DEFAULT_CONTENT_TYPE;
+        String payload = imageBase64;
+        int comma = imageBase64.indexOf(',');
+        if (comma >= 0) {
+            // data:image/png;base64,XXXX
+            String header = imageBase64.substring(0, comma);
+            if (header.startsWith("data:")) {
+                int end = header.indexOf(';');
+                String type = header.substring(5, end >= 0 ? end : header.length());
+                if (!type.isEmpty()) {
+                    contentType = type;
+                }
+            }
+            payload = imageBase64.substring(comma + 1);
+        }
+
+        byte[] bytes = Base64.getMimeDecoder().decode(payload);
+        Optional<ImageNormalizer.NormalizedImage> normalized = imageNormalizer.normalize(bytes).join();
+        return store(normalized, bytes.length, () -> blobStore.put(bytes), contentType);
+    }
+
+    /**
+     * 업로드 본문을 임시 파일로 받아 저장 (storage.image.max-size 초과 또는 빈 본문이면 IllegalArgumentException)
+     */
+    public StoredImage store(InputStream data, String contentType) {
+        String type = contentType != null && contentType.startsWith("image/") ? contentType : DEFAULT_CONTENT_TYPE;
+        Path upload = null;
+        try {
+            upload = Files.createTempFile("image-upload-", ".tmp");
+            LimitedInputStream limited = new LimitedInputStream(data, maxSize.toBytes());
+            try (OutputStream out = Files.newOutputStream(upload)) {
+                limited.transferTo(out);
+            }
+            if (limited.count == 0) {
+                throw new IllegalArgumentException("이미지가 비어 있습니다");
+            }
+            Path original = upload;
+            Optional<ImageNormalizer.NormalizedImage> normalized = imageNormalizer.normalize(original).join();
+            return store(normalized, limited.count, () -> putFile(original), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 업로드 실패", e);
+        } finally {
+            deleteQuietly(upload);
+        }
+    }
+
+    // 정규화에 실패했거나(이미지가 아님, 처리 대기열 초과) 축소본이 더 크면 원본 저장
+    private StoredImage store(Optional<ImageNormalizer.NormalizedImage> normalized, long originalSize,
+                              Supplier<String> storeOriginal, String contentType) {
+        if (normalized.isEmpty()) {
+            String hash = storeOriginal.get();
+            log.debug("이미지 저장 완료 (원본): {} ({} bytes)", hash, originalSize);
+            return new StoredImage(hash, contentType);
+        }
+        ImageNormalizer.NormalizedImage image = normalized.get();
+        String thumbnailHash = blobStore.put(image.thumbnail());
+        if (image.image().length >= originalSize) {
+            String hash = storeOriginal.get();
+            log.debug("이미지 저장 완료 (원본, 썸네일 {}): {} ({} bytes)", thumbnailHash, hash, originalSize);
+            return new StoredImage(hash, contentType, thumbnailHash);
+        }
+        String hash = blobStore.put(image.image());
+        log.debug("이미지 저장 완료 ({}x{}, {} -> {} bytes, 썸네일 {})",
+                image.width(), image.height(), originalSize, image.image().length, thumbnailHash);
+        return new StoredImage(hash, ImageNormalizer.CONTENT_TYPE, thumbnailHash);
+    }
+
+    private String putFile(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return blobStore.put(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 저장 실패", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", file, e);
+        }
+    }
+
+    /**
+     * 이미지 원본 바이트 조회
+     */
+    public Optional<ByteBuffer> load(String hash) {
+        if (hash == null) {
+            return Optional.empty();
+        }
+        return blobStore.get(hash);
+    }
+
+    /**
+     * 이미지를 data URI 형식으로 조회 (카드 상세 응답용)
+     */
+    public String loadAsDataUri(String hash, String contentType) {
+        return load(hash)
+                .map(buffer -> {
+                    ByteBuffer encoded = Base64.getEncoder().encode(buffer.duplicate());
+                    String type = contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+                    return "data:" + type + ";base64," + StandardCharsets.ISO_8859_1.decode(encoded);
+                })
+                .orElse(null);
+    }
+
+    // 읽은 바이트 수를 세고 한도를 넘으면 중단 (크기를 모르는 스트림 업로드용)
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counted(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                counted(read);
+            }
+            return read;
+        }
+
+        private void counted(int read) {
+            count += read;
+            if (count > limit) {
+                throw new IllegalArgumentException("이미지 크기가 " + limit + " bytes를 넘습니다");
+            }
+        }
+    }
+}
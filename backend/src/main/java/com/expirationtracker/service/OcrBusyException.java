@@ -0,0 +1,11 @@
+package com.expirationtracker.service;
+
+/**
+ * 동시에 처리 중인 OCR 요청이 한도(ocr.max-concurrent)에 도달한 경우
+ */
+public class OcrBusyException extends RuntimeException {
+
+    public OcrBusyException() {
+        super("OCR 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요");
+    }
+}
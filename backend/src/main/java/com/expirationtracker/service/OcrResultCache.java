@@ -0,0 +1,173 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.dto.OcrResponse;
+import com.expirationtracker.entity.OcrResult;
+import com.expirationtracker.repository.OcrResultRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지 해시(SHA-256)별 OCR 결과 캐시 - 같은 이미지를 다시 스캔하면 Clova를 호출하지 않음
+ * 메모리(크기/TTL 제한)를 먼저 보고, ocr.cache.persistent이면 DB(ocr_results)도 조회한다.
+ * 성공한 결과만 저장하며, DB 저장은 별도 가상 스레드에서, DB 조회는 boundedElastic 스케줄러에서 실행해
+ * 호출 스레드(리액터 이벤트 루프, 재시도 타이머 스레드 포함)를 막지 않는다.
+ * 지표: ocr.cache.lookups{result=memory|database|miss}, ocr.upstream(Clova 호출 시간),
+ * ocr.cache.saved-time(적중마다 Clova 평균 호출 시간을 누적한 절약 시간), cache.gets{cache=ocr.results}
+ */
+@Component
+@Slf4j
+public class OcrResultCache {
+
+    private final Cache<String, OcrResponse> memory;
+    private final OcrResultRepository ocrResultRepository;
+    private final boolean persistent;
+    private final Duration ttl;
+    private final ExecutorService writer = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Counter savedTime;
+    private final Timer upstream;
+
+    public OcrResultCache(OcrResultRepository ocrResultRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${ocr.cache.maximum-size:10000}") long maximumSize,
+                          @Value("${ocr.cache.ttl:P7D}") Duration ttl,
+                          @Value("${ocr.cache.persistent:false}") boolean persistent) {
+        this.ocrResultRepository = ocrResultRepository;
+        this.persistent = persistent;
+        this.ttl = ttl;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "ocr.results");
+
+        this.memoryHits = meterRegistry.counter("ocr.cache.lookups", "result", "memory");
+        this.databaseHits = meterRegistry.counter("ocr.cache.lookups", "result", "database");
+        this.misses = meterRegistry.counter("ocr.cache.lookups", "result", "miss");
+        this.savedTime = Counter.builder("ocr.cache.saved-time")
+                .description("캐시 적중으로 생략한 Clova 호출 시간 (평균 호출 시간 기준)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.upstream = meterRegistry.timer("ocr.upstream");
+    }
+
+    /**
+     * 캐시된 결과 조회 (없으면 빈 Mono)
+     * 메모리 적중은 바로 반환하고, DB 조회(블로킹 JPA)는 boundedElastic 스레드에서 실행한다.
+     */
+    public Mono<OcrResponse> get(String imageHash) {
+        OcrResponse cached = memory.getIfPresent(imageHash);
+        if (cached != null) {
+            hit(memoryHits);
+            return Mono.just(cached);
+        }
+        if (!persistent) {
+            misses.increment();
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> loadStored(imageHash))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Clova 호출 결과 기록 (성공한 응답만 캐시)
+     */
+    public void put(String imageHash, OcrResponse response, long upstreamNanos) {
+        upstream.record(upstreamNanos, TimeUnit.NANOSECONDS);
+        if (!response.isSuccess()) {
+            return;
+        }
+        memory.put(imageHash, response);
+        if (persistent) {
+            writer.execute(() -> store(imageHash, response));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ocr.cache.cleanup-interval:3600000}")
+    public void removeExpired() {
+        if (!persistent) {
+            return;
+        }
+        int removed = ocrResultRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (removed > 0) {
+            log.debug("만료된 OCR 결과 {}개 삭제", removed);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.close();
+    }
+
+    private void hit(Counter counter) {
+        counter.increment();
+        savedTime.increment(upstream.mean(TimeUnit.NANOSECONDS) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    // DB에서 찾으면 메모리에 적재, 없으면 null (Mono.fromCallable에서 빈 결과)
+    private OcrResponse loadStored(String imageHash) {
+        Optional<OcrResponse> stored = findStored(imageHash);
+        if (stored.isPresent()) {
+            memory.put(imageHash, stored.get());
+            hit(databaseHits);
+            return stored.get();
+        }
+        misses.increment();
+        return null;
+    }
+
+    private Optional<OcrResponse> findStored(String imageHash) {
+        try {
+            return ocrResultRepository.findById(imageHash)
+                    .filter(result -> result.getCreatedAt().isAfter(LocalDateTime.now().minus(ttl)))
+                    .map(result -> OcrResponse.builder()
+                            .name(result.getName())
+                            .expirationDate(result.getExpirationDate())
+                            .barcode(result.getBarcode())
+                            .success(true)
+                            .message(result.getMessage())
+                            .build());
+        } catch (RuntimeException e) {
+            // 캐시 조회 실패는 OCR 호출로 대체
+            log.warn("OCR 결과 조회 실패: {}", imageHash, e);
+            return Optional.empty();
+        }
+    }
+
+    private void store(String imageHash, OcrResponse response) {
+        try {
+            ocrResultRepository.save(OcrResult.builder()
+                    .imageHash(imageHash)
+                    .name(response.getName())
+                    .expirationDate(response.getExpirationDate())
+                    .barcode(response.getBarcode())
+                    .message(response.getMessage())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("OCR 결과 저장 실패: {}", imageHash, e);
+        }
+    }
+}
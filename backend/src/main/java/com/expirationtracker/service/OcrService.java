@@ -1,127 +1,280 @@
 package com.expirationtracker.service;
 
+import com.expirationtracker.dto.OcrBatchItem;
 import com.expirationtracker.dto.OcrResponse;
+import com.expirationtracker.storage.BlobHashes;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
 
 @Service
 @Slf4j
 public class OcrService {
 
+    // 일괄 처리 중 전체 한도에 도달했을 때 다시 시도하는 간격
+    private static final Duration BUSY_RETRY_DELAY = Duration.ofMillis(100);
+
     @Value("${naver.clova.ocr.url:}")
     private String clovaOcrUrl;
 
     @Value("${naver.clova.ocr.secret:}")
     private String clovaOcrSecret;
 
+    // 일괄 처리 요청 하나가 동시에 처리하는 이미지 수
+    @Value("${ocr.batch.concurrency:4}")
+    private int batchConcurrency = 4;
+
     private final WebClient webClient;
+    // Clova 호출 동시 실행 한도 (가상 스레드에서는 스레드 풀 크기가 한도 역할을 하지 않음)
+    private final Semaphore permits;
+    // 일괄 처리에서 한도에 도달했을 때 기다리는 최대 시간
+    private final Duration acquireTimeout;
+
+    private final OcrResultCache ocrResultCache;
+    private final ObjectMapper objectMapper;
+    private final ImageNormalizer imageNormalizer;
+    // 이미지 해시 -> 진행 중인 Clova 호출 (같은 이미지의 동시 요청은 하나의 호출 결과를 공유)
+    private final ConcurrentMap<String, CompletableFuture<OcrResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
 
-    public OcrService() {
-        this.webClient = WebClient.builder().build();
+    public OcrService(WebClient ocrWebClient,
+                      OcrResultCache ocrResultCache,
+                      ObjectMapper objectMapper,
+                      ImageNormalizer imageNormalizer,
+                      MeterRegistry meterRegistry,
+                      @Value("${ocr.max-concurrent:16}") int maxConcurrent,
+                      @Value("${ocr.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        this.webClient = ocrWebClient;
+        this.ocrResultCache = ocrResultCache;
+        this.objectMapper = objectMapper;
+        this.imageNormalizer = imageNormalizer;
+        this.coalesced = meterRegistry.counter("ocr.coalesced");
+        this.permits = new Semaphore(maxConcurrent);
+        this.acquireTimeout = acquireTimeout;
     }
 
     /**
-     * Naver Clova OCR API를 호출하여 이미지에서 텍스트 추출
+     * Naver Clova OCR API를 호출하여 이미지에서 텍스트 추출 (Base64 또는 data URI)
      */
-    public OcrResponse processImage(String imageBase64) {
-        // OCR API 미설정 시 더미 응답 반환
-        if (clovaOcrUrl == null || clovaOcrUrl.isEmpty() ||
-            clovaOcrSecret == null || clovaOcrSecret.isEmpty()) {
-            log.warn("Naver Clova OCR API 설정이 없습니다. 더미 데이터를 반환합니다.");
-            return OcrResponse.builder()
-                    .success(false)
-                    .message("OCR API가 설정되지 않았습니다. application.yml에 naver.clova.ocr.url과 secret을 설정하세요.")
-                    .build();
+    public Mono<OcrResponse> processImageAsync(String imageBase64) {
+        if (!isConfigured()) {
+            return Mono.just(notConfigured());
         }
+        return Mono.defer(() -> {
+            byte[] imageBytes;
+            try {
+                imageBytes = decodeImage(imageBase64);
+            } catch (Exception e) {
+                return Mono.just(failed(e));
+            }
+            return processImageAsync(imageBytes);
+        });
+    }
 
-        try {
-            // Base64 이미지를 바이트 배열로 변환
-            byte[] imageBytes = Base64.getDecoder().decode(imageBase64.split(",")[imageBase64.contains(",") ? 1 : 0]);
+    /**
+     * Naver Clova OCR API를 호출하여 이미지에서 텍스트 추출 - 호출 스레드를 붙잡지 않음
+     * 같은 이미지(SHA-256)의 결과가 캐시에 있으면 API를 호출하지 않고,
+     * 같은 이미지를 처리 중인 요청이 있으면 그 호출 결과를 함께 받는다.
+     * 동시 호출이 한도에 도달하면 기다리지 않고 바로 OcrBusyException으로 실패 (캐시 적중, 진행 중인 호출 합류는 한도와 무관)
+     */
+    public Mono<OcrResponse> processImageAsync(byte[] imageBytes) {
+        if (!isConfigured()) {
+            return Mono.just(notConfigured());
+        }
+        return Mono.defer(() -> lookup(BlobHashes.sha256(imageBytes), imageBytes));
+    }
 
-            // Naver Clova OCR API 호출
-            Map<String, Object> requestBody = Map.of(
-                    "version", "V2",
-                    "requestId", java.util.UUID.randomUUID().toString(),
-                    "timestamp", System.currentTimeMillis(),
-                    "images", java.util.List.of(Map.of(
-                            "format", "jpg",
-                            "name", "giftcard",
-                            "data", Base64.getEncoder().encodeToString(imageBytes)
-                    ))
-            );
+    /**
+     * 여러 이미지를 요청당 ocr.batch.concurrency개씩 동시에 처리하고 끝나는 순서대로 결과를 내보냄
+     * Clova 호출 한도(ocr.max-concurrent)는 다른 요청과 함께 쓰며, 한도에 도달하면 바로 실패하지 않고
+     * ocr.acquire-timeout 동안 간격을 두고 다시 시도한다. 이미지 하나의 실패는 그 항목의 실패 응답으로만 전달된다.
+     * 각 Mono는 처리 차례가 되어 구독될 때 이미지를 읽으므로, 동시에 처리 중인 이미지만 메모리에 올라간다.
+     */
+    public Flux<OcrBatchItem> processBatchAsync(List<Mono<byte[]>> images) {
+        return Flux.range(0, images.size())
+                .flatMap(index -> images.get(index)
+                        .flatMap(this::processQueued)
+                        .onErrorResume(e -> Mono.just(e instanceof OcrBusyException ? busy(e) : failed(e)))
+                        .map(result -> new OcrBatchItem(index, result))
+                        // 이미지 읽기와 해시 계산이 Clova 응답을 받는 네트워크 스레드에서 실행되지 않도록 분리
+                        .subscribeOn(Schedulers.boundedElastic()), batchConcurrency);
+    }
 
-            String response = webClient.post()
-                    .uri(clovaOcrUrl)
-                    .header("X-OCR-SECRET", clovaOcrSecret)
-                    .header("Content-Type", "application/json")
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+    // 한도 초과 시 acquire-timeout 동안 다시 시도 (다시 시도할 때 캐시/진행 중인 호출도 다시 확인)
+    private Mono<OcrResponse> processQueued(byte[] imageBytes) {
+        if (!isConfigured()) {
+            return Mono.just(notConfigured());
+        }
+        String imageHash = BlobHashes.sha256(imageBytes);
+        long retries = Math.max(1, acquireTimeout.toMillis() / BUSY_RETRY_DELAY.toMillis());
+        return Mono.defer(() -> lookup(imageHash, imageBytes))
+                .retryWhen(Retry.fixedDelay(retries, BUSY_RETRY_DELAY)
+                        .filter(OcrBusyException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
 
-            log.info("OCR API 응답: {}", response);
+    // 캐시 -> 진행 중인 호출 합류 -> 새 호출 (한도 초과 시 OcrBusyException)
+    private Mono<OcrResponse> lookup(String imageHash, byte[] imageBytes) {
+        return ocrResultCache.get(imageHash).switchIfEmpty(Mono.defer(() -> {
+            CompletableFuture<OcrResponse> call = inFlight.get(imageHash);
+            if (call == null) {
+                call = startCall(imageHash, imageBytes);
+            } else {
+                coalesced.increment();
+            }
+            // 한 요청이 취소되어도 같은 호출을 기다리는 다른 요청에는 영향 없음
+            return Mono.fromFuture(call, true);
+        }));
+    }
 
-            // 응답 파싱 및 정보 추출
-            return parseOcrResponse(response);
+    /**
+     * 같은 이미지에 대한 Clova 호출을 하나로 합침 (single-flight)
+     * 진행 중인 호출이 있으면 그 결과를 함께 기다리고, 없으면 새로 시작한다.
+     * 호출은 요청과 분리되어 끝까지 실행되며, 끝나면(성공/실패) 진행 중 목록에서 제거된다.
+     */
+    private CompletableFuture<OcrResponse> startCall(String imageHash, byte[] imageBytes) {
+        CompletableFuture<OcrResponse> call = new CompletableFuture<>();
+        CompletableFuture<OcrResponse> existing = inFlight.putIfAbsent(imageHash, call);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
 
-        } catch (Exception e) {
-            log.error("OCR 처리 중 오류 발생", e);
-            return OcrResponse.builder()
-                    .success(false)
-                    .message("OCR 처리 중 오류가 발생했습니다: " + e.getMessage())
-                    .build();
+        if (!permits.tryAcquire()) {
+            inFlight.remove(imageHash, call);
+            call.completeExceptionally(new OcrBusyException());
+            return call;
         }
+
+        long startedAt = System.nanoTime();
+        // 큰 원본은 CPU 풀에서 OCR에 충분한 해상도로 줄인 뒤 전송 (실패/대기열 초과 시 원본)
+        Mono.fromFuture(() -> imageNormalizer.normalize(imageBytes))
+                .map(normalized -> normalized
+                        .map(ImageNormalizer.NormalizedImage::image)
+                        .filter(image -> image.length < imageBytes.length)
+                        .orElse(imageBytes))
+                .flatMap(this::requestOcr)
+                // 200 응답에 본문이 없으면 bodyToMono가 값 없이 끝나므로 실패로 처리
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("OCR API 응답 본문이 비어 있습니다")))
+                .doOnNext(response -> log.debug("OCR API 응답: {} bytes", response.length))
+                .map(response -> {
+                    // 응답 파싱 및 정보 추출
+                    OcrResponse result = parseOcrResponse(response);
+                    ocrResultCache.put(imageHash, result, System.nanoTime() - startedAt);
+                    return result;
+                })
+                .onErrorResume(e -> Mono.just(failed(e)))
+                // Mono는 값 하나 또는 오류 하나로 끝나므로 finish는 정확히 한 번 실행됨
+                .subscribe(result -> finish(imageHash, call, result),
+                        e -> finish(imageHash, call, failed(e)));
+        return call;
+    }
+
+    // 결과를 알리기 전에 목록에서 제거 (이후 요청은 캐시에서 받거나 새로 호출)
+    private void finish(String imageHash, CompletableFuture<OcrResponse> call, OcrResponse result) {
+        permits.release();
+        inFlight.remove(imageHash, call);
+        call.complete(result);
+    }
+
+    private boolean isConfigured() {
+        return clovaOcrUrl != null && !clovaOcrUrl.isEmpty() &&
+               clovaOcrSecret != null && !clovaOcrSecret.isEmpty();
+    }
+
+    private OcrResponse notConfigured() {
+        log.warn("Naver Clova OCR API 설정이 없습니다. 더미 데이터를 반환합니다.");
+        return OcrResponse.builder()
+                .success(false)
+                .message("OCR API가 설정되지 않았습니다. application.yml에 naver.clova.ocr.url과 secret을 설정하세요.")
+                .build();
+    }
+
+    private OcrResponse busy(Throwable e) {
+        return OcrResponse.builder()
+                .success(false)
+                .message(e.getMessage())
+                .build();
+    }
+
+    private OcrResponse failed(Throwable e) {
+        log.error("OCR 처리 중 오류 발생", e);
+        return OcrResponse.builder()
+                .success(false)
+                .message("OCR 처리 중 오류가 발생했습니다: " + e.getMessage())
+                .build();
+    }
+
+    // Base64 이미지를 바이트 배열로 변환 (data URI 접두어 허용)
+    private static byte[] decodeImage(String imageBase64) {
+        return Base64.getDecoder().decode(imageBase64.split(",")[imageBase64.contains(",") ? 1 : 0]);
+    }
+
+    // Clova OCR API 호출 - 이미지는 Base64로 다시 인코딩하지 않고 multipart 파일 파트로 그대로 전송
+    private Mono<byte[]> requestOcr(byte[] imageBytes) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(Map.of(
+                    "version", "V2",
+                    "requestId", UUID.randomUUID().toString(),
+                    "timestamp", System.currentTimeMillis(),
+                    "images", List.of(Map.of(
+                            "format", "jpg",
+                            "name", "giftcard"
+                    ))
+            ));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("message", message);
+        body.part("file", new ByteArrayResource(imageBytes))
+                .filename("giftcard.jpg")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM);
+        return webClient.post()
+                .uri(clovaOcrUrl)
+                .header("X-OCR-SECRET", clovaOcrSecret)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .bodyValue(body.build())
+                .retrieve()
+                .bodyToMono(byte[].class);
     }
 
     /**
      * OCR 응답에서 기프티콘 정보 추출
      */
-    private OcrResponse parseOcrResponse(String response) {
+    private OcrResponse parseOcrResponse(byte[] response) {
         OcrResponse.OcrResponseBuilder builder = OcrResponse.builder();
 
         try {
-            // Naver Clova OCR JSON 응답 파싱
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            com.fasterxml.jackson.databind.JsonNode root = mapper.readTree(response);
-
-            // General OCR: images[0].fields[].inferText에서 텍스트 추출
-            StringBuilder inferTextBuilder = new StringBuilder();
-            if (root.has("images") && root.get("images").isArray() && root.get("images").size() > 0) {
-                com.fasterxml.jackson.databind.JsonNode firstImage = root.get("images").get(0);
-
-                // General OCR의 경우 fields 배열에서 텍스트 추출
-                if (firstImage.has("fields") && firstImage.get("fields").isArray()) {
-                    for (com.fasterxml.jackson.databind.JsonNode field : firstImage.get("fields")) {
-                        if (field.has("inferText")) {
-                            String text = field.get("inferText").asText();
-                            inferTextBuilder.append(text);
-                            // lineBreak가 true이면 줄바꿈 추가
-                            if (field.has("lineBreak") && field.get("lineBreak").asBoolean()) {
-                                inferTextBuilder.append("\n");
-                            } else {
-                                inferTextBuilder.append(" ");
-                            }
-                        }
-                    }
-                }
-                // Template OCR의 경우 (하위 호환성)
-                else if (firstImage.has("title") && firstImage.get("title").has("inferText")) {
-                    inferTextBuilder.append(firstImage.get("title").get("inferText").asText());
-                }
-            }
-
-            String inferText = inferTextBuilder.toString().trim();
-            log.info("OCR 인식 텍스트: {}", inferText);
+            String inferText = readInferText(response);
+            log.debug("OCR 인식 텍스트: {}", inferText);
 
             // 추출된 텍스트가 없으면 실패
             if (inferText.isEmpty()) {
@@ -130,23 +283,14 @@ public class OcrService {
                 return builder.build();
             }
 
-            // 유효기간 추출
-            LocalDate expirationDate = extractExpirationDate(inferText);
-            if (expirationDate != null) {
-                builder.expirationDate(expirationDate);
-            }
-
-            // 바코드 추출
-            String barcode = extractBarcode(inferText);
-            if (barcode != null) {
-                builder.barcode(barcode);
-            }
-
-            // 카드 이름은 첫 번째 텍스트 라인으로 추정
-            String name = extractCardName(inferText);
-            if (name != null) {
-                builder.name(name);
-            }
+            // 유효기간, 바코드, 카드 이름(보통 첫 번째 줄)을 한 번에 추출
+            OcrTextExtractor.Result extracted = OcrTextExtractor.extract(inferText);
+            LocalDate expirationDate = extracted.expirationDate();
+            String barcode = extracted.barcode();
+            String name = extracted.name();
+            builder.expirationDate(expirationDate);
+            builder.barcode(barcode);
+            builder.name(name);
 
             builder.success(expirationDate != null || barcode != null || name != null);
             builder.message(builder.build().isSuccess() ? "OCR 성공" : "정보를 추출할 수 없습니다");
@@ -160,65 +304,88 @@ public class OcrService {
         return builder.build();
     }
 
-    private LocalDate extractExpirationDate(String text) {
-        // 유효기간 범위 패턴 (시작일 ~ 종료일) - 종료일 추출
-        Pattern rangePattern = Pattern.compile("(\\d{4})[-./](\\d{1,2})[-./](\\d{1,2})\\s*[~-]\\s*(\\d{4})[-./](\\d{1,2})[-./](\\d{1,2})");
-        Matcher rangeMatcher = rangePattern.matcher(text);
-        if (rangeMatcher.find()) {
-            try {
-                // 종료일 추출 (group 4, 5, 6)
-                int year = Integer.parseInt(rangeMatcher.group(4));
-                int month = Integer.parseInt(rangeMatcher.group(5));
-                int day = Integer.parseInt(rangeMatcher.group(6));
-                log.info("유효기간 범위 감지: 종료일 {}-{}-{} 추출", year, month, day);
-                return LocalDate.of(year, month, day);
-            } catch (Exception e) {
-                log.debug("날짜 범위 파싱 실패: {}", rangeMatcher.group());
+    /**
+     * Naver Clova OCR 응답에서 images[0]의 인식 텍스트만 스트리밍으로 읽음
+     * General OCR은 fields[].inferText를 lineBreak에 따라 줄바꿈/공백으로 이어 붙이고,
+     * fields가 없으면 Template OCR의 title.inferText를 사용한다. (하위 호환성)
+     * 필드별 좌표(boundingPoly) 등 나머지 값은 트리로 만들지 않고 건너뛴다.
+     */
+    private String readInferText(byte[] response) throws IOException {
+        StringBuilder text = new StringBuilder(256);
+        try (JsonParser parser = objectMapper.getFactory().createParser(response)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return "";
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("images".equals(name) && value == JsonToken.START_ARRAY) {
+                    // 첫 번째 이미지만 사용하므로 나머지는 읽지 않음
+                    if (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readImage(parser, text);
+                    }
+                    break;
+                }
+                parser.skipChildren();
             }
         }
+        return text.toString().trim();
+    }
 
-        // 단일 날짜 패턴
-        Pattern[] patterns = {
-                Pattern.compile("유효기간[:\\s]*(\\d{4})[-./](\\d{1,2})[-./](\\d{1,2})"),
-                Pattern.compile("(\\d{4})[-./](\\d{1,2})[-./](\\d{1,2})"),
-                Pattern.compile("(\\d{4})(\\d{2})(\\d{2})"),
-        };
-
-        for (Pattern pattern : patterns) {
-            Matcher matcher = pattern.matcher(text);
-            if (matcher.find()) {
-                try {
-                    int year = Integer.parseInt(matcher.group(1));
-                    int month = Integer.parseInt(matcher.group(2));
-                    int day = Integer.parseInt(matcher.group(3));
-                    return LocalDate.of(year, month, day);
-                } catch (Exception e) {
-                    log.debug("날짜 파싱 실패: {}", matcher.group());
+    private void readImage(JsonParser parser, StringBuilder text) throws IOException {
+        boolean hasFields = false;
+        String title = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("fields".equals(name) && value == JsonToken.START_ARRAY) {
+                hasFields = true;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readField(parser, text);
                 }
+            } else if ("title".equals(name) && value == JsonToken.START_OBJECT) {
+                title = readTitle(parser);
+            } else {
+                parser.skipChildren();
             }
         }
-        return null;
+        if (!hasFields && title != null) {
+            text.append(title);
+        }
     }
 
-    private String extractBarcode(String text) {
-        // 10-15자리 연속 숫자 (바코드로 추정)
-        Pattern pattern = Pattern.compile("\\b(\\d{10,15})\\b");
-        Matcher matcher = pattern.matcher(text);
-        if (matcher.find()) {
-            return matcher.group(1);
+    // inferText는 복사 없이 바로 이어 붙이고, 구분자는 필드 끝에서 lineBreak에 따라 추가
+    private void readField(JsonParser parser, StringBuilder text) throws IOException {
+        boolean hasText = false;
+        boolean lineBreak = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("inferText".equals(name) && value.isScalarValue()) {
+                text.append(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                hasText = true;
+            } else if ("lineBreak".equals(name)) {
+                lineBreak = parser.getValueAsBoolean();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (hasText) {
+            text.append(lineBreak ? '\n' : ' ');
         }
-        return null;
     }
 
-    private String extractCardName(String text) {
-        // 첫 번째 텍스트 라인 (보통 상품명)
-        if (text == null || text.trim().isEmpty()) {
-            return null;
-        }
-        String[] lines = text.split("\\n");
-        if (lines.length > 0 && !lines[0].trim().isEmpty()) {
-            return lines[0].trim();
+    private String readTitle(JsonParser parser) throws IOException {
+        String inferText = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if ("inferText".equals(name)) {
+                inferText = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
         }
-        return null;
+        return inferText;
     }
 }
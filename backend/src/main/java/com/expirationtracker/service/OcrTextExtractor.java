@@ -0,0 +1,301 @@
+package com.expirationtracker.service;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * OCR 인식 텍스트에서 카드 이름, 유효기간, 바코드를 한 번의 순회로 추출
+ * 숫자열을 만날 때마다 날짜(구분자/한글/8자리)와 바코드(10~15자리) 후보를 판별하고,
+ * 날짜 후보는 종류별 순위(기간의 종료일 > "유효기간" 등 표시가 붙은 날짜 > 일반 날짜 > 8자리 날짜)가 가장 높은 것 중 처음 나온 것을 고른다.
+ * 정규식 컴파일이나 예외 없이 동작하며, 존재하지 않는 날짜(2월 30일 등)는 후보에서 제외된다.
+ */
+final class OcrTextExtractor {
+
+    /**
+     * 추출 결과 (찾지 못한 항목은 null)
+     */
+    record Result(String name, LocalDate expirationDate, String barcode) {
+    }
+
+    // 날짜 후보 순위 (클수록 우선)
+    private static final int NONE = 0;
+    private static final int COMPACT = 1;
+    private static final int PLAIN = 2;
+    private static final int LABELLED = 3;
+    private static final int RANGE_END = 4;
+
+    private static final int MIN_YEAR = 2000;
+    private static final int MAX_YEAR = 2099;
+    private static final int MIN_BARCODE_LENGTH = 10;
+    private static final int MAX_BARCODE_LENGTH = 15;
+
+    // 바로 뒤에 오는 날짜를 유효기간으로 표시하는 단어
+    private static final String[] LABELS = {"유효기간", "유효기한", "사용기한", "만료일"};
+    // 바로 앞의 날짜를 유효기간으로 표시하는 단어
+    private static final String UNTIL = "까지";
+
+    private OcrTextExtractor() {
+    }
+
+    static Result extract(String text) {
+        if (text == null) {
+            return new Result(null, null, null);
+        }
+        int length = text.length();
+        DateCandidates dates = new DateCandidates(text);
+        String name = null;
+        String barcode = null;
+        boolean firstLine = true;
+        // 마지막 표시 단어가 끝난 위치 (그 뒤로 공백/콜론만 있으면 표시가 붙은 날짜)
+        int labelEnd = -1;
+
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                if (firstLine) {
+                    name = nonBlank(text, 0, i);
+                    firstLine = false;
+                }
+                i++;
+                continue;
+            }
+            if (!isDigit(c)) {
+                int labelled = labelAt(text, i);
+                if (labelled > i) {
+                    labelEnd = labelled;
+                    i = labelled;
+                } else {
+                    i++;
+                }
+                continue;
+            }
+
+            int runEnd = digitsEnd(text, i);
+            int runLength = runEnd - i;
+            if (barcode == null && runLength >= MIN_BARCODE_LENGTH && runLength <= MAX_BARCODE_LENGTH
+                    && !isWordChar(text, i - 1) && !isWordChar(text, runEnd)) {
+                barcode = text.substring(i, runEnd);
+            }
+
+            if (runLength == 4 && dates.date(i)) {
+                int start = i;
+                int date = dates.date;
+                int end = dates.end;
+                int rank = onlyLabelGap(text, labelEnd, start) || startsWithAfterSpaces(text, end, UNTIL)
+                        ? LABELLED : PLAIN;
+                dates.offer(date, rank);
+
+                // 기간 표기 (시작일 ~ 종료일)이면 종료일
+                int next = skipSpaces(text, end);
+                if (next < length && (text.charAt(next) == '~' || text.charAt(next) == '-')) {
+                    int second = skipSpaces(text, next + 1);
+                    if (second < length && digitsEnd(text, second) - second == 4 && dates.date(second)) {
+                        dates.offer(dates.date, RANGE_END);
+                        end = dates.end;
+                    }
+                }
+                i = end;
+                continue;
+            }
+            if (runLength == 8 && !isWordChar(text, i - 1) && !isWordChar(text, runEnd)) {
+                int date = compactDate(text, i);
+                if (date != 0) {
+                    dates.offer(date, onlyLabelGap(text, labelEnd, i) ? LABELLED : COMPACT);
+                }
+            }
+            i = runEnd;
+        }
+        if (firstLine) {
+            name = nonBlank(text, 0, length);
+        }
+        return new Result(name, dates.best(), barcode);
+    }
+
+    /**
+     * 날짜 판별과 최선 후보 보관 (날짜는 yyyyMMdd 정수로 다뤄 중간 객체를 만들지 않음)
+     */
+    private static final class DateCandidates {
+        private final String text;
+        // 마지막으로 판별한 날짜와 끝 위치
+        private int date;
+        private int end;
+        private int bestDate;
+        private int bestRank = NONE;
+
+        DateCandidates(String text) {
+            this.text = text;
+        }
+
+        void offer(int date, int rank) {
+            if (rank > bestRank) {
+                bestDate = date;
+                bestRank = rank;
+            }
+        }
+
+        LocalDate best() {
+            return bestRank == NONE ? null : LocalDate.of(bestDate / 10000, bestDate / 100 % 100, bestDate % 100);
+        }
+
+        /**
+         * start의 4자리 연도로 시작하는 "2025.12.31", "2025-1-5", "2025. 12. 31", "2025년 12월 31일" 판별
+         */
+        boolean date(int start) {
+            int year = number(text, start, start + 4);
+            int pos = start + 4;
+            int length = text.length();
+            if (pos >= length) {
+                return false;
+            }
+            char separator = text.charAt(pos);
+            boolean korean = false;
+            if (isSeparator(separator)) {
+                pos++;
+            } else {
+                int unit = skipSpaces(text, pos);
+                if (unit >= length || text.charAt(unit) != '년') {
+                    return false;
+                }
+                korean = true;
+                pos = unit + 1;
+            }
+
+            pos = skipSpaces(text, pos);
+            int monthEnd = digitsEnd(text, pos);
+            if (monthEnd - pos < 1 || monthEnd - pos > 2) {
+                return false;
+            }
+            int month = number(text, pos, monthEnd);
+            pos = korean ? expectUnit(text, monthEnd, '월') : expectSeparator(text, monthEnd);
+            if (pos < 0) {
+                return false;
+            }
+
+            pos = skipSpaces(text, pos);
+            int dayEnd = digitsEnd(text, pos);
+            if (dayEnd - pos < 1 || dayEnd - pos > 2) {
+                return false;
+            }
+            int day = number(text, pos, dayEnd);
+            if (korean) {
+                int unit = skipSpaces(text, dayEnd);
+                dayEnd = unit < length && text.charAt(unit) == '일' ? unit + 1 : dayEnd;
+            }
+            if (!isValidDate(year, month, day)) {
+                return false;
+            }
+            this.date = year * 10000 + month * 100 + day;
+            this.end = dayEnd;
+            return true;
+        }
+    }
+
+    // "20251231" (yyyyMMdd), 유효하지 않으면 0
+    private static int compactDate(String text, int start) {
+        int year = number(text, start, start + 4);
+        int month = number(text, start + 4, start + 6);
+        int day = number(text, start + 6, start + 8);
+        return isValidDate(year, month, day) ? year * 10000 + month * 100 + day : 0;
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        if (year < MIN_YEAR || year > MAX_YEAR || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        int lastDay = switch (month) {
+            case 2 -> Year.isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return day <= lastDay;
+    }
+
+    // 표시 단어가 i에서 시작하면 끝 위치, 아니면 i
+    private static int labelAt(String text, int i) {
+        char c = text.charAt(i);
+        if (c != '유' && c != '사' && c != '만') {
+            return i;
+        }
+        for (String label : LABELS) {
+            if (text.startsWith(label, i)) {
+                return i + label.length();
+            }
+        }
+        return i;
+    }
+
+    // 표시 단어와 날짜 사이에 공백/콜론만 있는지
+    private static boolean onlyLabelGap(String text, int labelEnd, int dateStart) {
+        if (labelEnd < 0) {
+            return false;
+        }
+        for (int i = labelEnd; i < dateStart; i++) {
+            char c = text.charAt(i);
+            if (c != ':' && c != ' ' && c != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWithAfterSpaces(String text, int from, String word) {
+        return text.startsWith(word, skipSpaces(text, from));
+    }
+
+    private static int expectSeparator(String text, int pos) {
+        return pos < text.length() && isSeparator(text.charAt(pos)) ? pos + 1 : -1;
+    }
+
+    private static int expectUnit(String text, int pos, char unit) {
+        int at = skipSpaces(text, pos);
+        return at < text.length() && text.charAt(at) == unit ? at + 1 : -1;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '-' || c == '/';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // 정규식 \b 기준의 단어 문자 (한글 등은 경계로 취급)
+    private static boolean isWordChar(String text, int i) {
+        if (i < 0 || i >= text.length()) {
+            return false;
+        }
+        char c = text.charAt(i);
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static int digitsEnd(String text, int from) {
+        int i = from;
+        while (i < text.length() && isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // 같은 줄 안의 공백만 건너뜀
+    private static int skipSpaces(String text, int from) {
+        int i = from;
+        while (i < text.length() && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int number(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static String nonBlank(String text, int from, int to) {
+        String line = text.substring(from, to).strip();
+        return line.isEmpty() ? null : line;
+    }
+}
@@ -0,0 +1,168 @@
+package com.expirationtracker.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠
+ * 레벨 0은 tick 단위 슬롯 wheelSize개, 레벨 n은 tick * wheelSize^n 단위 슬롯 wheelSize개로 구성된다.
+ * 먼 시각의 항목은 상위 레벨에 두었다가 해당 슬롯 시각이 되면 하위 레벨로 내려보내므로
+ * 등록/취소는 O(1), 시각 진행은 tick당 O(만료 항목 수)이다.
+ * 항목은 deadline 이후 첫 tick에 만료된다. (deadline보다 먼저 만료되지 않음)
+ * 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+final class TimingWheel<T> {
+
+    /**
+     * 등록 핸들 (cancel 후에는 만료 목록에 포함되지 않음)
+     */
+    static final class Timeout<T> {
+        private final T item;
+        private final long deadline;
+        private volatile boolean cancelled;
+
+        private Timeout(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        T item() {
+            return item;
+        }
+
+        long deadline() {
+            return deadline;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final long tickMillis;
+    private final int wheelSize;
+    // levels.get(n)의 슬롯 하나는 tickMillis * wheelSize^n 구간
+    private final List<List<Timeout<T>>[]> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis > 0, wheelSize >= 2 이어야 합니다");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        levels.add(newSlots());
+    }
+
+    /**
+     * @return 등록 핸들, 이미 deadline이 지났으면 null (호출 측에서 즉시 처리)
+     */
+    Timeout<T> schedule(T item, long deadline) {
+        Timeout<T> timeout = new Timeout<>(item, deadline);
+        if (!add(timeout)) {
+            return null;
+        }
+        size++;
+        return timeout;
+    }
+
+    /**
+     * now까지 시각을 진행하고 만료된 항목 반환 (취소된 항목 제외)
+     */
+    List<T> advance(long now) {
+        List<T> expired = new ArrayList<>();
+        while (currentTime + tickMillis <= now) {
+            currentTime += tickMillis;
+            for (Timeout<T> timeout : drain(0, currentTime / tickMillis)) {
+                expire(timeout, expired);
+            }
+            // 상위 레벨 슬롯 경계이면 해당 슬롯 항목을 하위 레벨로 내려보냄
+            // (레벨 0 현재 슬롯을 먼저 비워야 한 바퀴 뒤 시각의 항목이 같은 슬롯에 들어가도 일찍 만료되지 않음)
+            long levelTick = tickMillis;
+            for (int level = 1; level < levels.size(); level++) {
+                levelTick *= wheelSize;
+                if (currentTime % levelTick != 0) {
+                    break;
+                }
+                for (Timeout<T> timeout : drain(level, currentTime / levelTick)) {
+                    if (timeout.isCancelled()) {
+                        size--;
+                    } else if (!add(timeout)) {
+                        expire(timeout, expired);
+                    }
+                }
+            }
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long currentTime() {
+        return currentTime;
+    }
+
+    private void expire(Timeout<T> timeout, List<T> expired) {
+        size--;
+        if (!timeout.isCancelled()) {
+            expired.add(timeout.item());
+        }
+    }
+
+    // 만료 시각이 이미 지났으면 false
+    private boolean add(Timeout<T> timeout) {
+        long deadline = timeout.deadline();
+        if (deadline <= currentTime) {
+            return false;
+        }
+        // 레벨 0: deadline 이후 첫 tick 슬롯 (currentTime, currentTime + interval]
+        if (deadline <= currentTime + tickMillis * wheelSize) {
+            slot(0, Math.ceilDiv(deadline, tickMillis)).add(timeout);
+            return true;
+        }
+        // 상위 레벨: deadline이 속한 구간의 시작 슬롯 (구간 시작 시각에 하위 레벨로 내려감)
+        long levelTick = tickMillis;
+        for (int level = 1; ; level++) {
+            levelTick *= wheelSize;
+            if (level == levels.size()) {
+                levels.add(newSlots());
+            }
+            long levelStart = currentTime - Math.floorMod(currentTime, levelTick);
+            if (deadline < levelStart + levelTick * wheelSize) {
+                slot(level, Math.floorDiv(deadline, levelTick)).add(timeout);
+                return true;
+            }
+        }
+    }
+
+    private List<Timeout<T>> slot(int level, long virtualTick) {
+        return levels.get(level)[(int) Math.floorMod(virtualTick, (long) wheelSize)];
+    }
+
+    private List<Timeout<T>> drain(int level, long virtualTick) {
+        List<Timeout<T>> slot = slot(level, virtualTick);
+        if (slot.isEmpty()) {
+            return List.of();
+        }
+        List<Timeout<T>> drained = new ArrayList<>(slot);
+        slot.clear();
+        return drained;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Timeout<T>>[] newSlots() {
+        List<Timeout<T>>[] slots = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        return slots;
+    }
+}
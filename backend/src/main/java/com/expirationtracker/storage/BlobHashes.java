@@ -0,0 +1,43 @@
+package com.expirationtracker.storage;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * BlobStore 키(SHA-256) 계산 및 검증 유틸리티
+ */
+public final class BlobHashes {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private BlobHashes() {
+    }
+
+    public static String sha256(byte[] data) {
+        return toHex(newDigest().digest(data));
+    }
+
+    /**
+     * 스트림을 나눠 읽으며 해시를 계산할 때 사용 (결과는 toHex로 변환)
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+
+    public static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * 외부 입력으로 들어온 해시가 경로 조작 등에 쓰이지 않도록 형식 검증
+     */
+    public static boolean isValid(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+}
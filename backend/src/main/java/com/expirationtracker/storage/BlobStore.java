@@ -0,0 +1,38 @@
+package com.expirationtracker.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * 카드 이미지 등 바이너리 데이터를 저장하는 콘텐츠 주소 기반 저장소
+ * 키는 데이터의 SHA-256 해시(소문자 16진수 64자)이며, 동일한 데이터는 한 번만 저장된다.
+ */
+public interface BlobStore {
+
+    /**
+     * 데이터를 저장하고 SHA-256 해시를 반환 (이미 존재하면 저장하지 않음)
+     */
+    String put(byte[] data);
+
+    /**
+     * 스트림을 끝까지 읽어 저장하고 SHA-256 해시를 반환 (업로드 본문 등 크기를 미리 알 수 없는 데이터)
+     * 기본 구현은 전체를 메모리로 읽으므로, 가능한 저장소는 나눠 쓰도록 재정의한다.
+     */
+    default String put(InputStream data) {
+        try {
+            return put(data.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 읽기 실패", e);
+        }
+    }
+
+    /**
+     * 해시로 데이터 조회 (읽기 전용 버퍼)
+     */
+    Optional<ByteBuffer> get(String hash);
+
+    boolean exists(String hash);
+}
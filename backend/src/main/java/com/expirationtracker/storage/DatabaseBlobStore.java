@@ -0,0 +1,59 @@
+package com.expirationtracker.storage;
+
+import com.expirationtracker.entity.ImageBlob;
+import com.expirationtracker.repository.ImageBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * DB 기반 BlobStore (파일시스템이 휘발성인 배포 환경용)
+ * gift_cards와 분리된 image_blobs 테이블에 저장하여 목록 조회 시 이미지가 함께 읽히지 않도록 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.image.type", havingValue = "database")
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseBlobStore implements BlobStore {
+
+    private final ImageBlobRepository imageBlobRepository;
+
+    @Override
+    public String put(byte[] data) {
+        String hash = BlobHashes.sha256(data);
+        if (imageBlobRepository.existsById(hash)) {
+            return hash;  // 동일한 이미지가 이미 저장되어 있음
+        }
+
+        try {
+            imageBlobRepository.save(ImageBlob.builder()
+                    .hash(hash)
+                    .data(data)
+                    .size(data.length)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 같은 이미지가 저장됨 - 내용이 동일하므로 무시
+            log.debug("이미지 중복 저장 무시: {}", hash);
+        }
+        return hash;
+    }
+
+    @Override
+    public Optional<ByteBuffer> get(String hash) {
+        if (!BlobHashes.isValid(hash)) {
+            return Optional.empty();
+        }
+        return imageBlobRepository.findById(hash)
+                .map(blob -> ByteBuffer.wrap(blob.getData()).asReadOnlyBuffer());
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return BlobHashes.isValid(hash) && imageBlobRepository.existsById(hash);
+    }
+}
@@ -0,0 +1,135 @@
+package com.expirationtracker.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+/**
+ * 로컬 파일시스템 기반 BlobStore
+ * {root}/{해시 앞 2자리}/{해시} 경로에 저장하고, 조회 시 메모리 매핑으로 읽는다.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.image.type", havingValue = "filesystem", matchIfMissing = true)
+@Slf4j
+public class FileSystemBlobStore implements BlobStore {
+
+    private final Path root;
+
+    public FileSystemBlobStore(@Value("${storage.image.path:./data/images}") String rootPath) {
+        this.root = Path.of(rootPath).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 저장 디렉토리를 생성할 수 없습니다: " + root, e);
+        }
+        log.info("파일시스템 이미지 저장소 사용: {}", root);
+    }
+
+    @Override
+    public String put(byte[] data) {
+        String hash = BlobHashes.sha256(data);
+        Path target = resolve(hash);
+        if (Files.exists(target)) {
+            return hash;  // 동일한 이미지가 이미 저장되어 있음
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            // 임시 파일에 쓴 뒤 이동하여 반쯤 쓰인 파일이 조회되지 않도록 함
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, data);
+                moveIntoPlace(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 저장 실패: " + hash, e);
+        }
+        return hash;
+    }
+
+    /**
+     * 스트림을 임시 파일에 나눠 쓰면서 해시를 계산하고, 끝나면 해시 경로로 이동 (전체를 힙에 올리지 않음)
+     */
+    @Override
+    public String put(InputStream data) {
+        try {
+            // 이동이 원자적이도록 같은 파일시스템(root)에 임시 파일 생성
+            Path temp = Files.createTempFile(root, "upload-", ".tmp");
+            try {
+                MessageDigest digest = BlobHashes.newDigest();
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    data.transferTo(out);
+                }
+                String hash = BlobHashes.toHex(digest.digest());
+                Path target = resolve(hash);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    moveIntoPlace(temp, target);
+                }
+                return hash;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 저장 실패", e);
+        }
+    }
+
+    @Override
+    public Optional<ByteBuffer> get(String hash) {
+        if (!BlobHashes.isValid(hash)) {
+            return Optional.empty();
+        }
+        Path path = resolve(hash);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유효하며, 힙에 복사하지 않고 페이지 캐시에서 직접 읽음
+            return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asReadOnlyBuffer());
+        } catch (java.nio.file.NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 조회 실패: " + hash, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return BlobHashes.isValid(hash) && Files.exists(resolve(hash));
+    }
+
+    private Path resolve(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // 동시에 같은 이미지가 저장됨 - 내용이 동일하므로 무시
+            }
+        } catch (FileAlreadyExistsException ignored) {
+            // 동시에 같은 이미지가 저장됨 - 내용이 동일하므로 무시
+        }
+    }
+}
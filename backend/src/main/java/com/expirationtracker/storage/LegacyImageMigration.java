@@ -0,0 +1,83 @@
+package com.expirationtracker.storage;
+
+import com.expirationtracker.service.ImageStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기존 gift_cards.image_base64(TEXT) 컬럼에 남아있는 이미지를 BlobStore로 이전
+ * 이전이 끝난 행은 image_base64를 비워 목록 조회 시 더 이상 읽히지 않도록 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LegacyImageMigration implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageStorageService imageStorageService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!legacyColumnExists()) {
+            return;
+        }
+
+        int migrated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, image_base64 FROM gift_cards " +
+                    "WHERE id > ? AND image_base64 IS NOT NULL AND image_hash IS NULL ORDER BY id LIMIT ?",
+                    lastId, BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                try {
+                    ImageStorageService.StoredImage image = imageStorageService.store((String) row.get("image_base64"));
+                    jdbcTemplate.update(
+                            "UPDATE gift_cards SET image_hash = ?, image_content_type = ?, thumbnail_hash = ?, " +
+                            "image_base64 = NULL WHERE id = ?",
+                            image.hash(), image.contentType(), image.thumbnailHash(), lastId);
+                    migrated++;
+                } catch (RuntimeException e) {
+                    log.warn("카드 {} 이미지 이전 실패: {}", lastId, e.getMessage());
+                }
+            }
+        }
+
+        if (migrated > 0) {
+            log.info("기존 카드 이미지 {}개를 이미지 저장소로 이전 완료", migrated);
+        }
+    }
+
+    private boolean legacyColumnExists() {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : new String[]{"gift_cards", "GIFT_CARDS"}) {
+                for (String column : new String[]{"image_base64", "IMAGE_BASE64"}) {
+                    try (ResultSet rs = metaData.getColumns(null, null, table, column)) {
+                        if (rs.next()) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
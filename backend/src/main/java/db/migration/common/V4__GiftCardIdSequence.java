@@ -0,0 +1,32 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * gift_cards id를 IDENTITY에서 시퀀스(pooled, 50개 단위)로 전환
+ * IDENTITY는 Hibernate 배치 INSERT를 막기 때문에 시퀀스로 id를 미리 할당받는다.
+ * 기존 id와 겹치지 않도록 현재 최대 id + 할당 단위에서 시작한다. (pooled 방식은 시퀀스 값이 할당 범위의 끝)
+ */
+public class V4__GiftCardIdSequence extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        long maxId;
+        try (Statement statement = context.getConnection().createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM gift_cards")) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS gift_cards_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
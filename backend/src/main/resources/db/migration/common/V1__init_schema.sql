@@ -0,0 +1,29 @@
+-- 기본 스키마 (H2 / PostgreSQL 공통)
+-- 기존에 ddl-auto로 생성된 DB에서도 실행될 수 있도록 IF NOT EXISTS 사용
+
+CREATE TABLE IF NOT EXISTS gift_cards (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name               VARCHAR(255) NOT NULL,
+    category           VARCHAR(20)  NOT NULL,
+    expiration_date    DATE         NOT NULL,
+    status             VARCHAR(20)  NOT NULL,
+    image_hash         VARCHAR(64),
+    image_content_type VARCHAR(50),
+    barcode            VARCHAR(100),
+    memo               VARCHAR(500),
+    user_id            VARCHAR(100),
+    created_at         TIMESTAMP(6) NOT NULL,
+    updated_at         TIMESTAMP(6),
+    used_at            TIMESTAMP(6)
+);
+
+-- 이미지 저장소 도입 전 생성된 테이블용
+ALTER TABLE gift_cards ADD COLUMN IF NOT EXISTS image_hash VARCHAR(64);
+ALTER TABLE gift_cards ADD COLUMN IF NOT EXISTS image_content_type VARCHAR(50);
+
+CREATE TABLE IF NOT EXISTS image_blobs (
+    hash       VARCHAR(64)  PRIMARY KEY,
+    data       BYTEA        NOT NULL,
+    size       INTEGER      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,7 @@
+-- 배치 작업 진행 상황 (노드 장애 시 마지막 청크부터 재개)
+CREATE TABLE IF NOT EXISTS sweep_checkpoints (
+    name       VARCHAR(50)  PRIMARY KEY,
+    sweep_date DATE         NOT NULL,
+    last_id    BIGINT       NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
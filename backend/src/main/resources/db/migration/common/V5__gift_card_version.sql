@@ -0,0 +1,2 @@
+-- 낙관적 잠금 버전 (카드 ETag로도 사용)
+ALTER TABLE gift_cards ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- 푸시 알림 대상 기기 토큰 (사용자당 여러 기기)
+CREATE TABLE IF NOT EXISTS device_tokens (
+    token      VARCHAR(255) PRIMARY KEY,
+    user_id    VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_device_tokens_user_id ON device_tokens (user_id);
@@ -0,0 +1,17 @@
+-- 알림 아웃박스 (카드 변경과 같은 트랜잭션에 기록, OutboxRelay가 비동기로 전송 후 삭제)
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type      VARCHAR(30)  NOT NULL,
+    user_id         VARCHAR(100) NOT NULL,
+    card_id         BIGINT,
+    title           VARCHAR(255) NOT NULL,
+    body            VARCHAR(500) NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(255),
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+-- 전송 대상 조회 (status = 'PENDING' AND next_attempt_at <= now ORDER BY id)
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_status_next ON notification_outbox (status, next_attempt_at, id);
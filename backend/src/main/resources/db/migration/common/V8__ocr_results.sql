@@ -0,0 +1,11 @@
+-- OCR 결과 캐시 (이미지 SHA-256 -> 추출 결과, ocr.cache.persistent 사용 시)
+CREATE TABLE IF NOT EXISTS ocr_results (
+    image_hash      VARCHAR(64)  PRIMARY KEY,
+    name            VARCHAR(255),
+    expiration_date DATE,
+    barcode         VARCHAR(100),
+    message         VARCHAR(255),
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ocr_results_created_at ON ocr_results (created_at);
@@ -0,0 +1,2 @@
+-- 목록용 썸네일 (BlobStore 키, 업로드 시 ImageNormalizer가 생성)
+ALTER TABLE gift_cards ADD COLUMN IF NOT EXISTS thumbnail_hash VARCHAR(64);
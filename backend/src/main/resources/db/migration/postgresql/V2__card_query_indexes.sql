@@ -0,0 +1,22 @@
+-- GiftCardRepository 쿼리별 인덱스 (PostgreSQL)
+-- ACTIVE 카드만 대상으로 하는 쿼리는 부분 인덱스로 크기를 줄임
+
+-- findExpiringSoon / countExpiringSoon / findExpiredCards 및 커서 페이지 (expirationDate, id 순)
+CREATE INDEX IF NOT EXISTS idx_gift_cards_active_expiration
+    ON gift_cards (expiration_date, id) WHERE status = 'ACTIVE';
+
+-- findByStatus / countByStatus 및 커서 페이지 (createdAt, id 순)
+CREATE INDEX IF NOT EXISTS idx_gift_cards_status_created
+    ON gift_cards (status, created_at, id);
+
+-- findByCategory 및 커서 페이지 (createdAt, id 순)
+CREATE INDEX IF NOT EXISTS idx_gift_cards_category_created
+    ON gift_cards (category, created_at, id);
+
+-- 전체 커서 페이지 (createdAt, id 순)
+CREATE INDEX IF NOT EXISTS idx_gift_cards_created
+    ON gift_cards (created_at, id);
+
+-- findByUserId 및 사용자별 만료 조회
+CREATE INDEX IF NOT EXISTS idx_gift_cards_user_status_expiration
+    ON gift_cards (user_id, status, expiration_date);
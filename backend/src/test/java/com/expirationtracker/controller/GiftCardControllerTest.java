@@ -1,10 +1,17 @@
 package com.expirationtracker.controller;
 
+import com.expirationtracker.dto.BatchCreateResponse;
+import com.expirationtracker.dto.CardListFingerprint;
+import com.expirationtracker.dto.CardStats;
+import com.expirationtracker.dto.CardStatsRow;
 import com.expirationtracker.dto.GiftCardRequest;
+import com.expirationtracker.dto.GiftCardSummary;
+import com.expirationtracker.dto.PageResponse;
 import com.expirationtracker.entity.CardStatus;
 import com.expirationtracker.entity.Category;
 import com.expirationtracker.entity.GiftCard;
 import com.expirationtracker.service.GiftCardService;
+import com.expirationtracker.service.ImageStorageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,15 +19,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -39,6 +57,9 @@ class GiftCardControllerTest {
     @MockBean
     private GiftCardService giftCardService;
 
+    @MockBean
+    private ImageStorageService imageStorageService;
+
     private GiftCard testCard;
 
     @BeforeEach
@@ -51,7 +72,17 @@ class GiftCardControllerTest {
                 .status(CardStatus.ACTIVE)
                 .barcode("1234567890123")
                 .memo("테스트 메모")
+                .version(0L)
                 .build();
+
+        // 목록 ETag 지문 (조건부 요청 테스트 외에는 값 자체는 중요하지 않음)
+        CardListFingerprint fingerprint = new CardListFingerprint(1L, 0L, 1L, null);
+        when(giftCardService.fingerprintAll()).thenReturn(fingerprint);
+        when(giftCardService.fingerprintByUser(anyString())).thenReturn(fingerprint);
+        when(giftCardService.fingerprintByStatus(any())).thenReturn(fingerprint);
+        when(giftCardService.fingerprintByCategory(any())).thenReturn(fingerprint);
+        when(giftCardService.fingerprintExpiringSoon(anyInt())).thenReturn(fingerprint.withScope("2025-06-01+7"));
+        when(giftCardService.fingerprintExpired()).thenReturn(fingerprint.withScope("2025-06-01"));
     }
 
     @Test
@@ -71,20 +102,197 @@ class GiftCardControllerTest {
                 .andExpect(jsonPath("$[0].status").value("ACTIVE"));
     }
 
+    @Test
+    @DisplayName("GET /api/cards (Accept: application/x-ndjson) - 한 줄에 카드 하나씩 스트리밍")
+    void streamAllCards() throws Exception {
+        // given
+        GiftCard second = GiftCard.builder()
+                .id(2L)
+                .name("CU 편의점 상품권")
+                .category(Category.VOUCHER)
+                .expirationDate(LocalDate.of(2026, 1, 1))
+                .status(CardStatus.ACTIVE)
+                .build();
+        when(giftCardService.streamAllCards(any())).thenAnswer(invocation -> {
+            Consumer<GiftCard> consumer = invocation.getArgument(0);
+            consumer.accept(testCard);
+            consumer.accept(second);
+            return 2L;
+        });
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/cards").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("name").asText()).isEqualTo("스타벅스 아메리카노");
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("GET /api/cards?fields= - 요청한 필드만 응답")
+    void getAllCardSummaries_SelectedFields() throws Exception {
+        // given
+        GiftCardSummary summary = new GiftCardSummary(1L, "스타벅스 아메리카노", Category.GIFTCARD,
+                LocalDate.of(2025, 12, 31), CardStatus.ACTIVE, "1234567890123", null);
+        when(giftCardService.getAllCardSummaries()).thenReturn(List.of(summary));
+
+        // when & then
+        mockMvc.perform(get("/api/cards").param("fields", "id,name,expirationDate"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("스타벅스 아메리카노"))
+                .andExpect(jsonPath("$[0].expirationDate").value("2025-12-31"))
+                .andExpect(jsonPath("$[0].barcode").doesNotExist())
+                .andExpect(jsonPath("$[0].status").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/cards/status/{status}?fields= - 요약에 없는 필드는 400")
+    void getCardSummariesByStatus_UnknownField() throws Exception {
+        mockMvc.perform(get("/api/cards/status/ACTIVE").param("fields", "id,imageBase64"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/cards/user/{userId}?fields= - 사용자 카드 요약")
+    void getCardSummariesByUser_SelectedFields() throws Exception {
+        // given
+        GiftCardSummary summary = new GiftCardSummary(1L, "스타벅스 아메리카노", Category.GIFTCARD,
+                LocalDate.of(2025, 12, 31), CardStatus.ACTIVE, "1234567890123", null);
+        when(giftCardService.getCardSummariesByUser("user-1")).thenReturn(List.of(summary));
+
+        // when & then
+        mockMvc.perform(get("/api/cards/user/user-1").param("fields", "id,name"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("스타벅스 아메리카노"))
+                .andExpect(jsonPath("$[0].expirationDate").doesNotExist());
+        verify(giftCardService, never()).getCardsByUser(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/cards?fields=&limit= - 함께 주면 400")
+    void getCardsPage_WithFields_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/cards/expired").param("fields", "id,name").param("limit", "10"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("fields와 limit은 함께 사용할 수 없습니다"));
+        verify(giftCardService, never()).getExpiredCardsPage(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/cards?limit= - 커서 페이지 조회")
+    void getAllCardsPage() throws Exception {
+        // given
+        PageResponse<GiftCard> page = PageResponse.<GiftCard>builder()
+                .items(List.of(testCard))
+                .nextCursor("next-cursor")
+                .hasNext(true)
+                .build();
+        when(giftCardService.getAllCardsPage(isNull(), eq(1))).thenReturn(page);
+
+        // when & then
+        mockMvc.perform(get("/api/cards").param("limit", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name").value("스타벅스 아메리카노"))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /api/cards/expired?limit=&cursor= - 잘못된 커서는 400")
+    void getExpiredCardsPage_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/cards/expired")
+                        .param("limit", "10")
+                        .param("cursor", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/cards/{id} - 개별 카드 조회")
     void getCardById() throws Exception {
         // given
-        when(giftCardService.getCardById(1L)).thenReturn(testCard);
+        when(giftCardService.getCurrentCard(1L)).thenReturn(testCard);
+        when(giftCardService.withImage(testCard)).thenReturn(testCard);
 
         // when & then
         mockMvc.perform(get("/api/cards/1"))
                 .andDo(print())
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-0-" + LocalDate.now() + "\""))
                 .andExpect(jsonPath("$.name").value("스타벅스 아메리카노"))
                 .andExpect(jsonPath("$.barcode").value("1234567890123"));
     }
 
+    @Test
+    @DisplayName("GET /api/cards/{id} - 버전이 같으면 이미지를 읽지 않고 304")
+    void getCardById_NotModified() throws Exception {
+        // given
+        when(giftCardService.getCurrentCard(1L)).thenReturn(testCard);
+
+        // when & then
+        mockMvc.perform(get("/api/cards/1").header("If-None-Match", "\"1-0-" + LocalDate.now() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(giftCardService, never()).withImage(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/cards/{id} - 전날 받은 ETag는 304가 아님")
+    void getCardById_PreviousDayETag() throws Exception {
+        // given
+        when(giftCardService.getCurrentCard(1L)).thenReturn(testCard);
+        when(giftCardService.withImage(testCard)).thenReturn(testCard);
+
+        // when & then
+        mockMvc.perform(get("/api/cards/1").header("If-None-Match", "\"1-0-" + LocalDate.now().minusDays(1) + "\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/cards - 목록 지문이 같으면 목록을 조회하지 않고 304")
+    void getAllCards_NotModified() throws Exception {
+        // given
+        String eTag = mockMvc.perform(get("/api/cards"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when & then
+        mockMvc.perform(get("/api/cards").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        verify(giftCardService, times(1)).getAllCards();
+    }
+
+    @Test
+    @DisplayName("GET /api/cards/expired - 기준일이 바뀌면 ETag도 바뀜")
+    void getExpiredCards_ETagIncludesDate() throws Exception {
+        // given
+        String eTag = mockMvc.perform(get("/api/cards/expired"))
+                .andReturn().getResponse().getHeader("ETag");
+        when(giftCardService.fingerprintExpired())
+                .thenReturn(new CardListFingerprint(1L, 0L, 1L, null).withScope("2025-06-02"));
+
+        // when & then
+        mockMvc.perform(get("/api/cards/expired").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("GET /api/cards/status/{status} - 상태별 카드 조회")
     void getCardsByStatus() throws Exception {
@@ -100,6 +308,20 @@ class GiftCardControllerTest {
                 .andExpect(jsonPath("$[0].status").value("ACTIVE"));
     }
 
+    @Test
+    @DisplayName("GET /api/cards/user/{userId} - 사용자별 카드 조회")
+    void getCardsByUser() throws Exception {
+        // given
+        when(giftCardService.getCardsByUser("user-1")).thenReturn(List.of(testCard));
+
+        // when & then
+        mockMvc.perform(get("/api/cards/user/user-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(giftCardService, times(1)).getCardsByUser("user-1");
+    }
+
     @Test
     @DisplayName("GET /api/cards/category/{category} - 카테고리별 카드 조회")
     void getCardsByCategory() throws Exception {
@@ -199,6 +421,73 @@ class GiftCardControllerTest {
                 .andExpect(jsonPath("$.status").value("ACTIVE"));
     }
 
+    @Test
+    @DisplayName("PUT /api/cards/{id}/image - 바이너리 본문과 multipart 파트를 그대로 저장")
+    void uploadCardImage() throws Exception {
+        // given
+        byte[] image = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x00};
+        ImageStorageService.StoredImage stored = new ImageStorageService.StoredImage("a".repeat(64), "image/png");
+        when(giftCardService.getCardById(1L)).thenReturn(testCard);
+        when(imageStorageService.store(any(InputStream.class), anyString())).thenReturn(stored);
+        when(giftCardService.updateImage(1L, stored)).thenReturn(testCard);
+
+        // when & then
+        mockMvc.perform(put("/api/cards/1/image")
+                        .contentType(MediaType.IMAGE_PNG)
+                        .content(image))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+        mockMvc.perform(multipart(HttpMethod.PUT, "/api/cards/1/image")
+                        .file(new MockMultipartFile("image", "card.png", MediaType.IMAGE_PNG_VALUE, image)))
+                .andExpect(status().isOk());
+
+        verify(imageStorageService, times(2)).store(any(InputStream.class), eq(MediaType.IMAGE_PNG_VALUE));
+        verify(giftCardService, times(2)).updateImage(1L, stored);
+    }
+
+    @Test
+    @DisplayName("PUT /api/cards/{id}/image - Content-Type 파라미터는 빼고 저장")
+    void uploadCardImage_StripsContentTypeParameters() throws Exception {
+        // given
+        ImageStorageService.StoredImage stored = new ImageStorageService.StoredImage("a".repeat(64), "image/jpeg");
+        when(giftCardService.getCardById(1L)).thenReturn(testCard);
+        when(imageStorageService.store(any(InputStream.class), anyString())).thenReturn(stored);
+        when(giftCardService.updateImage(1L, stored)).thenReturn(testCard);
+
+        // when & then
+        mockMvc.perform(put("/api/cards/1/image")
+                        .header(HttpHeaders.CONTENT_TYPE, "image/jpeg; charset=UTF-8; q=1")
+                        .content(new byte[]{(byte) 0xFF, (byte) 0xD8}))
+                .andExpect(status().isOk());
+
+        verify(imageStorageService).store(any(InputStream.class), eq(MediaType.IMAGE_JPEG_VALUE));
+    }
+
+    @Test
+    @DisplayName("POST /api/cards/batch - 일부 실패 시 207과 항목별 결과")
+    void createCards_PartialFailure() throws Exception {
+        // given
+        BatchCreateResponse response = BatchCreateResponse.builder()
+                .requested(2)
+                .created(1)
+                .failed(1)
+                .results(List.of(
+                        BatchCreateResponse.ItemResult.builder().index(0).success(true).id(10L).build(),
+                        BatchCreateResponse.ItemResult.builder().index(1).success(false).message("카드 이름은 필수입니다").build()))
+                .build();
+        when(giftCardService.createCards(anyList())).thenReturn(response);
+
+        // when & then
+        mockMvc.perform(post("/api/cards/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"a\",\"category\":\"VOUCHER\",\"expirationDate\":\"2025-12-31\"},{}]"))
+                .andDo(print())
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(10))
+                .andExpect(jsonPath("$.results[1].message").value("카드 이름은 필수입니다"));
+    }
+
     @Test
     @DisplayName("POST /api/cards - 유효성 검증 실패 (이름 없음)")
     void createCard_ValidationFailed() throws Exception {
@@ -285,11 +574,11 @@ class GiftCardControllerTest {
     @DisplayName("GET /api/cards/stats - 통계 조회")
     void getStats() throws Exception {
         // given
-        when(giftCardService.countByStatus(CardStatus.ACTIVE)).thenReturn(10L);
-        when(giftCardService.countByStatus(CardStatus.EXPIRED)).thenReturn(3L);
-        when(giftCardService.countByStatus(CardStatus.USED)).thenReturn(5L);
-        when(giftCardService.countExpiringSoon(7)).thenReturn(2L);
-        when(giftCardService.countExpiringSoon(30)).thenReturn(7L);
+        CardStats stats = CardStats.from(List.of(
+                new CardStatsRow(CardStatus.ACTIVE, Category.GIFTCARD, 10L, 2L, 7L),
+                new CardStatsRow(CardStatus.EXPIRED, Category.GIFTCARD, 3L, 0L, 0L),
+                new CardStatsRow(CardStatus.USED, Category.COUPON, 5L, 0L, 0L)));
+        when(giftCardService.getStats(null)).thenReturn(stats);
 
         // when & then
         mockMvc.perform(get("/api/cards/stats"))
@@ -300,6 +589,25 @@ class GiftCardControllerTest {
                 .andExpect(jsonPath("$.expired").value(3))
                 .andExpect(jsonPath("$.used").value(5))
                 .andExpect(jsonPath("$.expiringSoon7").value(2))
-                .andExpect(jsonPath("$.expiringSoon30").value(7));
+                .andExpect(jsonPath("$.expiringSoon30").value(7))
+                .andExpect(jsonPath("$.byCategory.GIFTCARD.total").value(13))
+                .andExpect(jsonPath("$.byCategory.COUPON.used").value(5));
+
+        verify(giftCardService, times(1)).getStats(null);
+    }
+
+    @Test
+    @DisplayName("GET /api/cards/stats?userId= - 사용자별 통계 조회")
+    void getStats_ByUser() throws Exception {
+        // given
+        when(giftCardService.getStats("user-1")).thenReturn(CardStats.from(List.of()));
+
+        // when & then
+        mockMvc.perform(get("/api/cards/stats").param("userId", "user-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(0))
+                .andExpect(jsonPath("$.byCategory.ETC.total").value(0));
+
+        verify(giftCardService, times(1)).getStats("user-1");
     }
 }
@@ -0,0 +1,83 @@
+package com.expirationtracker.controller;
+
+import com.expirationtracker.dto.OcrBatchItem;
+import com.expirationtracker.dto.OcrResponse;
+import com.expirationtracker.service.OcrService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OcrController.class)
+@DisplayName("OcrController 통합 테스트")
+class OcrControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OcrService ocrService;
+
+    @Test
+    @DisplayName("POST /api/ocr/batch - 끝나는 순서대로 NDJSON 한 줄씩 응답")
+    void processBatch_StreamsNdjson() throws Exception {
+        // given
+        when(ocrService.processBatchAsync(anyList())).thenReturn(Flux.just(
+                new OcrBatchItem(1, OcrResponse.builder().name("메가커피").success(true).build()),
+                new OcrBatchItem(0, OcrResponse.builder().success(false).message("실패").build())));
+
+        // when
+        MvcResult result = mockMvc.perform(multipart("/api/ocr/batch")
+                        .file(image("a"))
+                        .file(image("b"))
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body.lines()).hasSize(2);
+        assertThat(body.lines().findFirst().orElseThrow()).contains("\"index\":1", "\"name\":\"메가커피\"");
+    }
+
+    @Test
+    @DisplayName("POST /api/ocr/batch - 이미지 수 한도 초과 시 400")
+    void processBatch_TooManyImages() throws Exception {
+        // given
+        var request = multipart("/api/ocr/batch");
+        for (int i = 0; i <= 50; i++) {
+            request.file(image("image-" + i));
+        }
+
+        // when & then
+        mockMvc.perform(request.accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+        verify(ocrService, never()).processBatchAsync(anyList());
+    }
+
+    private static MockMultipartFile image(String content) {
+        return new MockMultipartFile("images", content + ".jpg", MediaType.IMAGE_JPEG_VALUE,
+                content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,173 @@
+package com.expirationtracker.notification;
+
+import com.expirationtracker.dto.ExpiringCardRow;
+import com.expirationtracker.entity.DeviceToken;
+import com.expirationtracker.repository.DeviceTokenRepository;
+import com.expirationtracker.repository.GiftCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExpirationNotifier 단위 테스트")
+class ExpirationNotifierTest {
+
+    @Mock
+    private GiftCardRepository giftCardRepository;
+
+    @Mock
+    private DeviceTokenRepository deviceTokenRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final InMemoryPushSender pushSender = new InMemoryPushSender();
+
+    private ExpirationNotifier notifier;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 1);
+
+    // 페이지 읽기 트랜잭션 실행 중 여부 (전송은 트랜잭션 밖에서 해야 함)
+    private boolean inTransaction;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new ExpirationNotifier(giftCardRepository, deviceTokenRepository, pushSender, transactionTemplate,
+                new PushRateLimiter(1_000_000), 3, Duration.ZERO);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction = false;
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("사용자마다 요약 알림 하나를 기기 토큰별로 전송")
+    void notifyExpiringSoon_OneDigestPerUser() {
+        // given
+        givenExpiringCards(
+                new ExpiringCardRow("alice", 3L, "스타벅스 아메리카노", today.plusDays(1)),
+                new ExpiringCardRow("alice", 1L, "배스킨라빈스", today.plusDays(5)),
+                new ExpiringCardRow("bob", 2L, "CU 5천원권", today));
+        when(deviceTokenRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(
+                token("alice-phone", "alice"), token("alice-tablet", "alice"), token("bob-phone", "bob")));
+
+        // when
+        NotificationReport report = notifier.notifyExpiringSoon(today, 7);
+
+        // then
+        assertThat(report.users()).isEqualTo(2);
+        assertThat(report.sent()).isEqualTo(3);
+        assertThat(pushSender.batchSizes()).containsExactly(3);
+        PushMessage alice = pushSender.sent().get(0);
+        assertThat(alice.token()).isEqualTo("alice-phone");
+        assertThat(alice.title()).isEqualTo("유효기간 임박 기프티콘 2개");
+        assertThat(alice.body()).isEqualTo("스타벅스 아메리카노 (D-1) 외 1개");
+        assertThat(pushSender.sent().get(2).body()).isEqualTo("CU 5천원권 (오늘 만료)");
+        verify(deviceTokenRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("사용자 500명 단위 페이지로 읽고, 페이지 트랜잭션이 끝난 뒤 500개씩 묶어서 전송")
+    void notifyExpiringSoon_BatchesOf500() {
+        // given - 1200명, 사용자당 기기 하나
+        givenExpiringCards(IntStream.range(0, 1200)
+                .mapToObj(i -> new ExpiringCardRow("user%04d".formatted(i), (long) i, "카드", today.plusDays(3)))
+                .toArray(ExpiringCardRow[]::new));
+        when(deviceTokenRepository.findByUserIdIn(anyCollection())).thenAnswer(invocation -> {
+            assertThat(inTransaction).as("전송 중 카드 조회 트랜잭션이 열려 있음").isFalse();
+            List<DeviceToken> tokens = new ArrayList<>();
+            for (Object userId : invocation.<Collection<?>>getArgument(0)) {
+                tokens.add(token(userId + "-phone", (String) userId));
+            }
+            return tokens;
+        });
+
+        // when
+        NotificationReport report = notifier.notifyExpiringSoon(today, 7);
+
+        // then
+        assertThat(report.users()).isEqualTo(1200);
+        assertThat(report.sent()).isEqualTo(1200);
+        assertThat(pushSender.batchSizes()).containsExactly(500, 500, 200);
+        verify(deviceTokenRepository, times(3)).findByUserIdIn(anyCollection());
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    @DisplayName("일시적 오류는 재시도하고 해지된 토큰은 삭제")
+    void notifyExpiringSoon_RetriesAndRemovesInvalidTokens() {
+        // given
+        givenExpiringCards(new ExpiringCardRow("alice", 1L, "카드", today.plusDays(2)));
+        when(deviceTokenRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(
+                token("flaky", "alice"), token("gone", "alice"), token("down", "alice")));
+        pushSender.respondWith("flaky", PushResult.Outcome.RETRYABLE);
+        pushSender.respondWith("gone", PushResult.Outcome.INVALID_TOKEN);
+        pushSender.respondWith("down", PushResult.Outcome.RETRYABLE, PushResult.Outcome.RETRYABLE,
+                PushResult.Outcome.RETRYABLE);
+
+        // when
+        NotificationReport report = notifier.notifyExpiringSoon(today, 7);
+
+        // then - flaky는 두 번째 시도에 성공, down은 최대 3회 시도 후 실패
+        assertThat(report.messages()).isEqualTo(3);
+        assertThat(report.sent()).isEqualTo(1);
+        assertThat(report.retried()).isEqualTo(3);
+        assertThat(report.invalidTokens()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(pushSender.sent()).extracting(PushMessage::token).containsExactly("flaky");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<String>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(deviceTokenRepository).deleteAllByIdInBatch(captor.capture());
+        assertThat(captor.getValue()).containsExactly("gone");
+    }
+
+    // 사용자 ID 키셋 페이지 조회와 사용자별 카드 조회를 rows(사용자, 유효기간 순)로 흉내냄
+    private void givenExpiringCards(ExpiringCardRow... rows) {
+        LocalDate endDate = today.plusDays(7);
+        when(giftCardRepository.findExpiringSoonUserIds(eq(today), eq(endDate), anyString(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    String after = invocation.getArgument(2);
+                    Pageable page = invocation.getArgument(3);
+                    return Arrays.stream(rows).map(ExpiringCardRow::userId).distinct()
+                            .filter(userId -> userId.compareTo(after) > 0)
+                            .limit(page.getPageSize())
+                            .toList();
+                });
+        lenient().when(giftCardRepository.findExpiringSoonByUserIds(eq(today), eq(endDate), anyCollection()))
+                .thenAnswer(invocation -> {
+                    Collection<?> userIds = invocation.getArgument(2);
+                    return Arrays.stream(rows).filter(row -> userIds.contains(row.userId())).toList();
+                });
+    }
+
+    private DeviceToken token(String token, String userId) {
+        return DeviceToken.builder().token(token).userId(userId).createdAt(LocalDateTime.now()).build();
+    }
+}
@@ -0,0 +1,233 @@
+package com.expirationtracker.notification;
+
+import com.expirationtracker.dto.OutboxBacklog;
+import com.expirationtracker.entity.DeviceToken;
+import com.expirationtracker.entity.OutboxEvent;
+import com.expirationtracker.repository.DeviceTokenRepository;
+import com.expirationtracker.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay 단위 테스트")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private DeviceTokenRepository deviceTokenRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final InMemoryPushSender pushSender = new InMemoryPushSender();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Captor
+    private ArgumentCaptor<Iterable<Long>> deletedIds;
+
+    private OutboxRelay relay;
+
+    private boolean inTransaction;
+
+    @BeforeEach
+    void setUp() {
+        relay = relay(pushSender, 100);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction = false;
+            }
+        });
+        lenient().doAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                return null;
+            } finally {
+                inTransaction = false;
+            }
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("기기마다 전송 후 성공한 알림 삭제")
+    void relayBatch_DeliversAndDeletes() {
+        // given
+        OutboxEvent created = event(1L, "alice", 0);
+        OutboxEvent noDevice = event(2L, "bob", 0);
+        when(outboxEventRepository.claimBatch(any(LocalDateTime.class), eq(100))).thenReturn(List.of(created, noDevice));
+        when(deviceTokenRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(
+                token("alice-phone", "alice"), token("alice-tablet", "alice")));
+
+        // when
+        int processed = relay.relayBatch();
+
+        // then - 기기가 없는 알림은 보낼 곳이 없으므로 함께 삭제
+        assertThat(processed).isEqualTo(2);
+        assertThat(pushSender.sent()).extracting(PushMessage::token).containsExactly("alice-phone", "alice-tablet");
+        assertThat(pushSender.sent().get(0).data()).containsEntry("cardId", "1").containsEntry("type", "CARD_CREATED");
+        verify(outboxEventRepository).deleteAllByIdInBatch(deletedIds.capture());
+        assertThat(deletedIds.getValue()).containsExactly(1L, 2L);
+        assertThat(meterRegistry.counter("notification.outbox.delivered").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("가져온 알림은 임대 시각을 표시해 커밋하고, 전송은 트랜잭션 밖에서")
+    void relayBatch_SendsOutsideTransaction() {
+        // given
+        List<Boolean> sentInTransaction = new ArrayList<>();
+        relay = relay(messages -> {
+            sentInTransaction.add(inTransaction);
+            return pushSender.send(messages);
+        }, 100);
+        OutboxEvent event = event(1L, "alice", 0);
+        when(outboxEventRepository.claimBatch(any(LocalDateTime.class), eq(100))).thenReturn(List.of(event));
+        when(deviceTokenRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(token("alice-phone", "alice")));
+        LocalDateTime before = LocalDateTime.now();
+
+        // when
+        relay.relayBatch();
+
+        // then - 클레임/결과 반영 트랜잭션 두 번, 그 사이에 전송
+        assertThat(sentInTransaction).containsExactly(false);
+        assertThat(event.getNextAttemptAt()).isAfterOrEqualTo(before.plusMinutes(5));
+        InOrder inOrder = inOrder(transactionTemplate, outboxEventRepository);
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+        inOrder.verify(outboxEventRepository).deleteAllByIdInBatch(deletedIds.capture());
+        assertThat(deletedIds.getValue()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("일시적 오류는 백오프 후 재시도, 최대 횟수 초과 시 FAILED")
+    void relayBatch_ReschedulesWithBackoff() {
+        // given
+        OutboxEvent first = event(1L, "alice", 0);
+        OutboxEvent last = event(2L, "bob", 2);
+        when(outboxEventRepository.claimBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(first, last));
+        when(deviceTokenRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(
+                token("alice-phone", "alice"), token("bob-phone", "bob"), token("bob-old", "bob")));
+        pushSender.respondWith("alice-phone", PushResult.Outcome.RETRYABLE);
+        pushSender.respondWith("bob-phone", PushResult.Outcome.RETRYABLE);
+        pushSender.respondWith("bob-old", PushResult.Outcome.INVALID_TOKEN);
+        when(outboxEventRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(first, last));
+        LocalDateTime before = LocalDateTime.now();
+
+        // when
+        relay.relayBatch();
+
+        // then
+        assertThat(first.getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(10));
+        assertThat(last.getStatus()).isEqualTo(OutboxEvent.Status.FAILED);
+        assertThat(last.getAttempts()).isEqualTo(3);
+        verify(deviceTokenRepository).deleteAllByIdInBatch(argThat(tokens -> tokens.iterator().next().equals("bob-old")));
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+        assertThat(meterRegistry.counter("notification.outbox.retried").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("notification.outbox.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 FAILED 알림 삭제")
+    void removeFailed_DeletesOlderThanRetention() {
+        // given
+        when(outboxEventRepository.deleteFailedCreatedBefore(any(LocalDateTime.class))).thenReturn(2);
+
+        // when
+        relay.removeFailed();
+
+        // then
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).deleteFailedCreatedBefore(captor.capture());
+        assertThat(captor.getValue()).isBetween(
+                LocalDateTime.now().minusDays(7).minusMinutes(1), LocalDateTime.now().minusDays(7));
+        verify(transactionTemplate).execute(any());
+    }
+
+    @Test
+    @DisplayName("한 묶음이 가득 차면 대기 알림이 없을 때까지 반복")
+    void relay_DrainsUntilEmpty() {
+        // given
+        relay = relay(pushSender, 1);
+        when(outboxEventRepository.claimBatch(any(LocalDateTime.class), eq(1)))
+                .thenReturn(List.of(event(1L, "alice", 0)))
+                .thenReturn(List.of(event(2L, "alice", 0)))
+                .thenReturn(List.of());
+
+        // when
+        relay.relay();
+
+        // then
+        verify(outboxEventRepository, times(3)).claimBatch(any(LocalDateTime.class), eq(1));
+    }
+
+    @Test
+    @DisplayName("대기 수와 지연 시간 지표")
+    void refreshMetrics_ReportsLag() {
+        // given
+        when(outboxEventRepository.findBacklog()).thenReturn(new OutboxBacklog(42L, LocalDateTime.now().minusSeconds(90)));
+
+        // when
+        relay.refreshMetrics();
+
+        // then
+        assertThat(meterRegistry.get("notification.outbox.pending").gauge().value()).isEqualTo(42);
+        assertThat(meterRegistry.get("notification.outbox.lag").gauge().value()).isBetween(89.0, 91.0);
+    }
+
+    private OutboxRelay relay(PushSender sender, int batchSize) {
+        return new OutboxRelay(outboxEventRepository, deviceTokenRepository, sender,
+                new PushRateLimiter(1_000_000), transactionTemplate, meterRegistry,
+                batchSize, 3, Duration.ofSeconds(10), Duration.ofSeconds(15), Duration.ofDays(7), Duration.ofMinutes(5));
+    }
+
+    private OutboxEvent event(Long cardId, String userId, int attempts) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .id(cardId)
+                .eventType(OutboxEvent.Type.CARD_CREATED)
+                .userId(userId)
+                .cardId(cardId)
+                .title("기프티콘 등록")
+                .body("카드")
+                .status(OutboxEvent.Status.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    private DeviceToken token(String token, String userId) {
+        return DeviceToken.builder().token(token).userId(userId).createdAt(LocalDateTime.now()).build();
+    }
+}
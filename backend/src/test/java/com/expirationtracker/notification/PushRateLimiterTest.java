@@ -0,0 +1,20 @@
+package com.expirationtracker.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PushRateLimiter 단위 테스트")
+class PushRateLimiterTest {
+
+    @Test
+    @DisplayName("요청한 수만큼 다음 전송 시각이 밀림")
+    void reserve_DelaysByRequestedPermits() {
+        PushRateLimiter limiter = new PushRateLimiter(100);
+
+        assertThat(limiter.reserve(50)).isLessThanOrEqualTo(0);
+        // 앞서 50개를 예약했으므로 약 0.5초 대기
+        assertThat(limiter.reserve(1)).isBetween(400_000_000L, 500_000_000L);
+    }
+}
@@ -0,0 +1,265 @@
+package com.expirationtracker.repository;
+
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+import com.expirationtracker.entity.GiftCard;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 쿼리가 인덱스를 사용하는지 실행 계획으로 검증
+ * DataSource를 감싸 Hibernate가 실행하는 SELECT마다 같은 파라미터로 EXPLAIN을 실행하고,
+ * WHERE 조건이 있는 쿼리가 테이블 전체 스캔을 하면 실패한다.
+ * 전체 카드를 대상으로 하는 집계/목록 쿼리는 전체 스캔이 의도된 것이므로 SELECT 한 번으로 끝나는지만 확인한다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Import(GiftCardRepositoryQueryPlanTest.ExplainConfig.class)
+@DisplayName("GiftCardRepository 실행 계획 테스트")
+class GiftCardRepositoryQueryPlanTest {
+
+    private static final List<Plan> PLANS = new CopyOnWriteArrayList<>();
+    private static final Pattern LEADING_COMMENTS = Pattern.compile("^(\\s*/\\*.*?\\*/)*\\s*", Pattern.DOTALL);
+
+    @Autowired
+    private GiftCardRepository giftCardRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    record Plan(String sql, String plan) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<GiftCard> cards = new ArrayList<>();
+        CardStatus[] statuses = CardStatus.values();
+        Category[] categories = Category.values();
+        for (int i = 0; i < 500; i++) {
+            cards.add(GiftCard.builder()
+                    .name("카드 " + i)
+                    .category(categories[i % categories.length])
+                    .expirationDate(LocalDate.now().plusDays(i % 400 - 100))
+                    .status(statuses[i % statuses.length])
+                    .barcode(String.valueOf(1000000000000L + i))
+                    .userId("user-" + (i % 50))
+                    .build());
+        }
+        giftCardRepository.saveAll(cards);
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    @Test
+    @DisplayName("조건이 있는 모든 리포지토리 쿼리는 인덱스를 사용")
+    void repositoryQueries_UseIndexes() {
+        LocalDate today = LocalDate.now();
+        LocalDate endDate = today.plusDays(7);
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(1);
+        PageRequest page = PageRequest.of(0, 21);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findByStatus", () -> giftCardRepository.findByStatus(CardStatus.ACTIVE));
+        queries.put("findByCategory", () -> giftCardRepository.findByCategory(Category.COUPON));
+        queries.put("findExpiringSoon", () -> giftCardRepository.findExpiringSoon(today, endDate));
+        queries.put("findExpiredCards", () -> giftCardRepository.findExpiredCards(today));
+        queries.put("findByUserId", () -> giftCardRepository.findByUserId("user-7"));
+        queries.put("findVersionById", () -> giftCardRepository.findVersionById(10L));
+        queries.put("lockExpiredActiveIdsInRange", () -> giftCardRepository.lockExpiredActiveIdsInRange(today, 0L, 100L));
+        queries.put("findPageAfter", () -> giftCardRepository.findPageAfter(createdAt, 10L, page));
+        queries.put("findByStatusOrderByCreatedAtAscIdAsc",
+                () -> giftCardRepository.findByStatusOrderByCreatedAtAscIdAsc(CardStatus.ACTIVE, page));
+        queries.put("findPageByStatusAfter",
+                () -> giftCardRepository.findPageByStatusAfter(CardStatus.ACTIVE, createdAt, 10L, page));
+        queries.put("findByCategoryOrderByCreatedAtAscIdAsc",
+                () -> giftCardRepository.findByCategoryOrderByCreatedAtAscIdAsc(Category.TICKET, page));
+        queries.put("findPageByCategoryAfter",
+                () -> giftCardRepository.findPageByCategoryAfter(Category.TICKET, createdAt, 10L, page));
+        queries.put("findExpiringSoonPage", () -> giftCardRepository.findExpiringSoonPage(today, endDate, page));
+        queries.put("findExpiringSoonPageAfter",
+                () -> giftCardRepository.findExpiringSoonPageAfter(today, endDate, today.plusDays(2), 10L, page));
+        queries.put("findExpiredCardsPage", () -> giftCardRepository.findExpiredCardsPage(today, page));
+        queries.put("findExpiredCardsPageAfter",
+                () -> giftCardRepository.findExpiredCardsPageAfter(today, today.minusDays(30), 10L, page));
+        queries.put("findSummariesByUserId", () -> giftCardRepository.findSummariesByUserId("user-7"));
+        queries.put("findSummariesByStatus", () -> giftCardRepository.findSummariesByStatus(CardStatus.ACTIVE));
+        queries.put("findSummariesByCategory", () -> giftCardRepository.findSummariesByCategory(Category.VOUCHER));
+        queries.put("findExpiringSoonSummaries", () -> giftCardRepository.findExpiringSoonSummaries(today, endDate));
+        queries.put("findExpiredSummaries", () -> giftCardRepository.findExpiredSummaries(today));
+        queries.put("aggregateStatsByUser",
+                () -> giftCardRepository.aggregateStatsByUser("user-7", today, endDate, today.plusDays(30)));
+        queries.put("fingerprintByUserId", () -> giftCardRepository.fingerprintByUserId("user-7"));
+        queries.put("fingerprintByStatus", () -> giftCardRepository.fingerprintByStatus(CardStatus.ACTIVE));
+        queries.put("fingerprintByCategory", () -> giftCardRepository.fingerprintByCategory(Category.COUPON));
+        queries.put("fingerprintExpiringSoon", () -> giftCardRepository.fingerprintExpiringSoon(today, endDate));
+        queries.put("fingerprintExpired", () -> giftCardRepository.fingerprintExpired(today));
+        queries.put("findActiveExpirations", () -> giftCardRepository.findActiveExpirations());
+        queries.put("findExpiringSoonUserIds",
+                () -> giftCardRepository.findExpiringSoonUserIds(today, endDate, "", page));
+        queries.put("findExpiringSoonByUserIds",
+                () -> giftCardRepository.findExpiringSoonByUserIds(today, endDate, List.of("user-1", "user-2")));
+
+        queries.forEach((name, query) -> {
+            PLANS.clear();
+            query.run();
+
+            List<Plan> filtered = PLANS.stream()
+                    .filter(plan -> plan.sql().toLowerCase(Locale.ROOT).contains(" where "))
+                    .toList();
+            assertThat(filtered).as("%s 실행 계획이 수집되지 않았습니다", name).isNotEmpty();
+            for (Plan plan : filtered) {
+                assertThat(plan.plan().toLowerCase(Locale.ROOT))
+                        .as("%s 쿼리가 테이블 전체 스캔을 합니다:%n%s", name, plan.plan())
+                        .doesNotContain(".tablescan");
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("전체 카드 집계 쿼리는 SELECT 한 번으로 실행")
+    void fullTableAggregates_RunAsSingleSelect() {
+        LocalDate today = LocalDate.now();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("aggregateStats",
+                () -> giftCardRepository.aggregateStats(today, today.plusDays(7), today.plusDays(30)));
+        queries.put("aggregateStatsGroupedByUser",
+                () -> giftCardRepository.aggregateStatsGroupedByUser(today, today.plusDays(7), today.plusDays(30)));
+        queries.put("fingerprintAll", () -> giftCardRepository.fingerprintAll());
+        queries.put("countByUserStatusCategoryAndExpirationDate",
+                () -> giftCardRepository.countByUserStatusCategoryAndExpirationDate());
+
+        queries.forEach((name, query) -> {
+            PLANS.clear();
+            query.run();
+
+            assertThat(PLANS).as("%s 쿼리가 SELECT 한 번으로 실행되지 않았습니다", name).hasSize(1);
+        });
+    }
+
+    @TestConfiguration
+    static class ExplainConfig {
+
+        @Bean
+        static BeanPostProcessor explainingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? explaining(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    // ===== EXPLAIN 수집용 JDBC 프록시 =====
+
+    private static DataSource explaining(DataSource target) {
+        return proxy(DataSource.class, target, (method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? explaining(connection) : result;
+        });
+    }
+
+    private static Connection explaining(Connection target) {
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return explaining(target, statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement explaining(Connection connection, PreparedStatement target, String sql) {
+        List<Object[]> parameters = new ArrayList<>();
+        List<Method> setters = new ArrayList<>();
+        return proxy(PreparedStatement.class, target, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                setters.add(method);
+                parameters.add(args);
+            } else if (name.equals("clearParameters")) {
+                setters.clear();
+                parameters.clear();
+            } else if (name.equals("executeQuery") && (args == null || args.length == 0) && isCardQuery(sql)) {
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                    for (int i = 0; i < setters.size(); i++) {
+                        invoke(explain, setters.get(i), parameters.get(i));
+                    }
+                    try (ResultSet rs = explain.executeQuery()) {
+                        rs.next();
+                        PLANS.add(new Plan(sql, rs.getString(1)));
+                    }
+                }
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    // hibernate.use_sql_comments로 붙는 앞쪽 /* ... */ 주석을 건너뛰고 판단
+    private static boolean isCardQuery(String sql) {
+        String lower = LEADING_COMMENTS.matcher(sql).replaceFirst("").toLowerCase(Locale.ROOT);
+        return lower.startsWith("select") && lower.contains("gift_cards");
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> invoke(target, method, args);
+                    default -> handler.handle(method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.dto.CardCountRow;
+import com.expirationtracker.dto.CardStats;
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.repository.GiftCardRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CardStatistics 단위 테스트")
+class CardStatisticsTest {
+
+    @Mock
+    private GiftCardRepository giftCardRepository;
+
+    @InjectMocks
+    private CardStatistics cardStatistics;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 1);
+
+    @Test
+    @DisplayName("초기 집계 전에는 통계를 제공하지 않음")
+    void snapshot_NotReady() {
+        assertThat(cardStatistics.isReady()).isFalse();
+        assertThat(cardStatistics.snapshot(null, today)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재계산 결과로 전체/사용자별 통계 계산")
+    void reconcile_BuildsCounters() {
+        // given
+        when(giftCardRepository.countByUserStatusCategoryAndExpirationDate()).thenReturn(List.of(
+                new CardCountRow("user-1", CardStatus.ACTIVE, Category.GIFTCARD, today.plusDays(3), 2L),
+                new CardCountRow("user-1", CardStatus.ACTIVE, Category.COUPON, today.plusDays(20), 1L),
+                new CardCountRow("user-2", CardStatus.ACTIVE, Category.GIFTCARD, today.plusDays(60), 4L),
+                new CardCountRow("user-2", CardStatus.USED, Category.TICKET, today.minusDays(1), 1L),
+                new CardCountRow(null, CardStatus.EXPIRED, Category.ETC, today.minusDays(5), 3L)));
+
+        // when
+        cardStatistics.reconcile();
+        CardStats global = cardStatistics.snapshot(null, today).orElseThrow();
+        CardStats user1 = cardStatistics.snapshot("user-1", today).orElseThrow();
+
+        // then
+        assertThat(global.total()).isEqualTo(11);
+        assertThat(global.active()).isEqualTo(7);
+        assertThat(global.expired()).isEqualTo(3);
+        assertThat(global.used()).isEqualTo(1);
+        assertThat(global.expiringSoon7()).isEqualTo(2);
+        assertThat(global.expiringSoon30()).isEqualTo(3);
+        assertThat(global.byCategory().get(Category.GIFTCARD).active()).isEqualTo(6);
+
+        assertThat(user1.total()).isEqualTo(3);
+        assertThat(user1.expiringSoon30()).isEqualTo(3);
+        assertThat(cardStatistics.snapshot("unknown", today).orElseThrow().total()).isZero();
+    }
+
+    @Test
+    @DisplayName("쓰기 경로 변경을 카운터에 반영")
+    void record_UpdatesCounters() {
+        // given
+        when(giftCardRepository.countByUserStatusCategoryAndExpirationDate()).thenReturn(List.of());
+        cardStatistics.reconcile();
+        GiftCard card = GiftCard.builder()
+                .id(1L)
+                .userId("user-1")
+                .category(Category.VOUCHER)
+                .expirationDate(today.plusDays(5))
+                .status(CardStatus.ACTIVE)
+                .build();
+
+        // when & then
+        cardStatistics.recordCreated(card);
+        CardStats created = cardStatistics.snapshot("user-1", today).orElseThrow();
+        assertThat(created.active()).isEqualTo(1);
+        assertThat(created.expiringSoon7()).isEqualTo(1);
+
+        CardStatistics.CardKey before = CardStatistics.CardKey.of(card);
+        card.markAsUsed();
+        cardStatistics.recordChanged(before, card);
+        CardStats used = cardStatistics.snapshot(null, today).orElseThrow();
+        assertThat(used.active()).isZero();
+        assertThat(used.used()).isEqualTo(1);
+        assertThat(used.expiringSoon7()).isZero();
+
+        cardStatistics.recordDeleted(card);
+        assertThat(cardStatistics.snapshot(null, today).orElseThrow().total()).isZero();
+    }
+
+    @Test
+    @DisplayName("재계산 시 누적된 오차를 DB 집계로 교체")
+    void reconcile_CorrectsDrift() {
+        // given
+        when(giftCardRepository.countByUserStatusCategoryAndExpirationDate())
+                .thenReturn(List.of())
+                .thenReturn(List.of(new CardCountRow("user-1", CardStatus.EXPIRED, Category.ETC, today, 2L)));
+        cardStatistics.reconcile();
+        cardStatistics.recordCreated(GiftCard.builder()
+                .userId("user-1").category(Category.ETC).expirationDate(today).status(CardStatus.ACTIVE).build());
+
+        // when
+        cardStatistics.reconcile();
+
+        // then
+        CardStats stats = cardStatistics.snapshot(null, today).orElseThrow();
+        assertThat(stats.active()).isZero();
+        assertThat(stats.expired()).isEqualTo(2);
+    }
+}
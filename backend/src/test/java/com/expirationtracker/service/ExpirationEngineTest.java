@@ -0,0 +1,158 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.dto.CardExpiration;
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.repository.GiftCardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExpirationEngine 단위 테스트")
+class ExpirationEngineTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    @Mock
+    private GiftCardRepository giftCardRepository;
+
+    @Mock
+    private ExpirationSweeper expirationSweeper;
+
+    private MutableClock clock;
+    private ExpirationEngine engine;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 1);
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(today.atTime(12, 0).toInstant(ZoneOffset.UTC));
+        engine = new ExpirationEngine(giftCardRepository, expirationSweeper, true, ZONE,
+                Duration.ofHours(1), Duration.ofMinutes(1), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    @DisplayName("만료 시각은 유효기간 다음 날 0시부터 분산 구간 안")
+    void deadlineOf_WithinSpreadAfterMidnight() {
+        long midnight = today.plusDays(1).atStartOfDay(ZONE).toInstant().toEpochMilli();
+        for (long id = 1; id <= 100; id++) {
+            assertThat(engine.deadlineOf(id, today))
+                    .isGreaterThanOrEqualTo(midnight)
+                    .isLessThan(midnight + Duration.ofHours(1).toMillis());
+        }
+    }
+
+    @Test
+    @DisplayName("시작 시 지난 카드는 바로, 나머지는 만료 시각에 전환")
+    void start_ExpiresOverdueThenScheduled() {
+        // given
+        when(giftCardRepository.findActiveExpirations()).thenReturn(List.of(
+                new CardExpiration(1L, today.minusDays(1)),
+                new CardExpiration(2L, today)));
+
+        // when
+        engine.load();
+        engine.tick();
+
+        // then - 지난 카드
+        verify(expirationSweeper, times(1)).expireCards(List.of(1L), today);
+        assertThat(engine.pending()).isEqualTo(1);
+
+        // when - 다음 날 분산 구간이 지난 뒤
+        clock.set(today.plusDays(1).atTime(1, 0).toInstant(ZoneOffset.UTC));
+        engine.tick();
+
+        // then
+        verify(expirationSweeper, times(1)).expireCards(List.of(2L), today.plusDays(1));
+        assertThat(engine.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("사용 완료된 카드는 등록 해제되어 전환하지 않음")
+    void track_NonActiveCancels() {
+        // given
+        GiftCard card = GiftCard.builder().id(3L).category(Category.ETC)
+                .expirationDate(today).status(CardStatus.ACTIVE).build();
+        engine.track(card);
+        card.markAsUsed();
+
+        // when
+        engine.track(card);
+        clock.set(today.plusDays(2).atStartOfDay(ZONE).toInstant());
+        engine.tick();
+
+        // then
+        verify(expirationSweeper, never()).expireCards(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("전환 실패 시 재시도 등록")
+    void expire_RetriesOnFailure() {
+        // given
+        when(giftCardRepository.findActiveExpirations()).thenReturn(List.of(new CardExpiration(1L, today.minusDays(1))));
+        when(expirationSweeper.expireCards(anyList(), eq(today)))
+                .thenThrow(new IllegalStateException("conflict"))
+                .thenReturn(1);
+
+        // when
+        engine.load();
+        engine.tick();
+        clock.set(clock.instant().plus(Duration.ofMinutes(2)));
+        engine.tick();
+
+        // then
+        verify(expirationSweeper, times(2)).expireCards(List.of(1L), today);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.dto.CardExpiration;
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.repository.GiftCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExpirationIndex 단위 테스트")
+class ExpirationIndexTest {
+
+    @Mock
+    private GiftCardRepository giftCardRepository;
+
+    @InjectMocks
+    private ExpirationIndex expirationIndex;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 1);
+
+    @BeforeEach
+    void setUp() {
+        when(giftCardRepository.findActiveExpirations()).thenReturn(List.of(
+                new CardExpiration(5L, today.plusDays(3)),
+                new CardExpiration(2L, today.plusDays(3)),
+                new CardExpiration(9L, today.plusDays(1)),
+                new CardExpiration(4L, today.plusDays(40)),
+                new CardExpiration(7L, today.minusDays(2))));
+        expirationIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("범위 조회는 (유효기간, id) 오름차순")
+    void idsBetween_OrderedByDateThenId() {
+        assertThat(expirationIndex.isReady()).isTrue();
+        assertThat(expirationIndex.idsBetween(today, today.plusDays(7))).containsExactly(9L, 2L, 5L);
+        assertThat(expirationIndex.countBetween(today, today.plusDays(30))).isEqualTo(3);
+        assertThat(expirationIndex.idsBefore(today)).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("쓰기 경로 변경 반영 - 사용 완료/유효기간 변경/삭제")
+    void record_UpdatesIndex() {
+        // given
+        GiftCard card = card(11L, today.plusDays(2));
+
+        // when & then
+        expirationIndex.recordCreated(card);
+        assertThat(expirationIndex.idsBetween(today, today.plusDays(7))).containsExactly(9L, 11L, 2L, 5L);
+
+        LocalDate previous = card.getExpirationDate();
+        card.setExpirationDate(today.plusDays(10));
+        expirationIndex.recordChanged(previous, card);
+        assertThat(expirationIndex.idsBetween(today, today.plusDays(7))).containsExactly(9L, 2L, 5L);
+        assertThat(expirationIndex.idsBetween(today, today.plusDays(10))).containsExactly(9L, 2L, 5L, 11L);
+
+        GiftCard used = card(9L, today.plusDays(1));
+        used.markAsUsed();
+        expirationIndex.recordChanged(today.plusDays(1), used);
+        expirationIndex.recordDeleted(card(5L, today.plusDays(3)));
+        assertThat(expirationIndex.idsBetween(today, today.plusDays(7))).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("재구축은 DB 기준으로 교체")
+    void rebuild_ReplacesIndex() {
+        // given
+        when(giftCardRepository.findActiveExpirations()).thenReturn(List.of(new CardExpiration(2L, today)));
+
+        // when
+        expirationIndex.rebuild();
+
+        // then
+        assertThat(expirationIndex.idsBetween(today.minusDays(10), today.plusDays(100))).containsExactly(2L);
+    }
+
+    private GiftCard card(Long id, LocalDate expirationDate) {
+        return GiftCard.builder()
+                .id(id)
+                .category(Category.ETC)
+                .expirationDate(expirationDate)
+                .status(CardStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,331 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.entity.CardStatus;
+import com.expirationtracker.entity.Category;
+import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.entity.SweepCheckpoint;
+import com.expirationtracker.notification.NotificationOutbox;
+import com.expirationtracker.repository.GiftCardRepository;
+import com.expirationtracker.repository.SweepCheckpointRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExpirationSweeper 단위 테스트")
+class ExpirationSweeperTest {
+
+    @Mock
+    private GiftCardRepository giftCardRepository;
+
+    @Mock
+    private SweepCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CardStatistics cardStatistics;
+
+    @Mock
+    private ExpirationIndex expirationIndex;
+
+    @Mock
+    private CardCache cardCache;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    @InjectMocks
+    private ExpirationSweeper expirationSweeper;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(expirationSweeper, "chunkSize", 100);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("id 범위 청크마다 UPDATE 후 진행 위치 기록, 마지막 청크에서 진행 위치 삭제")
+    void sweep_ChunksByIdRange() {
+        // given
+        when(giftCardRepository.findMaxId()).thenReturn(250L);
+        when(checkpointRepository.findById(ExpirationSweeper.CHECKPOINT_NAME)).thenReturn(Optional.empty());
+        givenDueCards(10, 20, 5);
+
+        // when
+        int updated = expirationSweeper.sweep(today);
+
+        // then
+        assertThat(updated).isEqualTo(35);
+        verify(giftCardRepository).lockExpiredActiveIdsInRange(eq(today), eq(0L), eq(100L));
+        verify(giftCardRepository).lockExpiredActiveIdsInRange(eq(today), eq(100L), eq(200L));
+        verify(giftCardRepository).lockExpiredActiveIdsInRange(eq(today), eq(200L), eq(250L));
+        ArgumentCaptor<SweepCheckpoint> captor = ArgumentCaptor.forClass(SweepCheckpoint.class);
+        verify(checkpointRepository, times(2)).save(captor.capture());
+        assertThat(captor.getValue().getLastId()).isEqualTo(200L);
+        assertThat(captor.getValue().getSweepDate()).isEqualTo(today);
+        verify(checkpointRepository).deleteById(ExpirationSweeper.CHECKPOINT_NAME);
+    }
+
+    @Test
+    @DisplayName("청크마다 대상 카드를 잠그고 같은 카드에 대해 만료 알림 기록 후 UPDATE")
+    void sweep_RecordsExpiredNotificationsBeforeUpdate() {
+        // given
+        when(giftCardRepository.findMaxId()).thenReturn(150L);
+        when(checkpointRepository.findById(ExpirationSweeper.CHECKPOINT_NAME)).thenReturn(Optional.empty());
+        givenDueCards(1);
+
+        // when
+        expirationSweeper.sweep(today);
+
+        // then
+        InOrder inOrder = inOrder(notificationOutbox, giftCardRepository);
+        inOrder.verify(giftCardRepository).lockExpiredActiveIdsInRange(today, 0L, 100L);
+        inOrder.verify(notificationOutbox).cardsExpired(eq(List.of(1L)), any(LocalDateTime.class));
+        inOrder.verify(giftCardRepository).expireActiveCards(eq(List.of(1L)), any(LocalDateTime.class));
+        inOrder.verify(giftCardRepository).lockExpiredActiveIdsInRange(today, 100L, 150L);
+        inOrder.verify(notificationOutbox).cardsExpired(eq(List.of(101L)), any(LocalDateTime.class));
+        inOrder.verify(giftCardRepository).expireActiveCards(eq(List.of(101L)), any(LocalDateTime.class));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("완료 후 같은 날 다시 실행하면 처음부터 처리해 새로 만료된 카드도 전환")
+    void sweep_SecondRunSameDayStartsOver() {
+        // given - 첫 실행이 진행 위치를 지웠으므로 두 번째 실행에서도 비어 있음
+        when(giftCardRepository.findMaxId()).thenReturn(150L);
+        when(checkpointRepository.findById(ExpirationSweeper.CHECKPOINT_NAME)).thenReturn(Optional.empty());
+        givenDueCards(3, 1, 2, 0);
+
+        // when
+        int first = expirationSweeper.sweep(today);
+        int second = expirationSweeper.sweep(today);
+
+        // then
+        assertThat(first).isEqualTo(4);
+        assertThat(second).isEqualTo(2);
+        verify(giftCardRepository, times(2)).lockExpiredActiveIdsInRange(eq(today), eq(0L), eq(100L));
+        verify(checkpointRepository, times(2)).deleteById(ExpirationSweeper.CHECKPOINT_NAME);
+    }
+
+    @Test
+    @DisplayName("남은 청크가 없는 진행 위치는 삭제")
+    void sweep_ClearsFinishedCheckpoint() {
+        // given
+        when(giftCardRepository.findMaxId()).thenReturn(200L);
+        when(checkpointRepository.findById(ExpirationSweeper.CHECKPOINT_NAME)).thenReturn(Optional.of(
+                SweepCheckpoint.builder().name(ExpirationSweeper.CHECKPOINT_NAME).sweepDate(today).lastId(200L).build()));
+
+        // when
+        int updated = expirationSweeper.sweep(today);
+
+        // then
+        assertThat(updated).isZero();
+        verify(giftCardRepository, never()).lockExpiredActiveIdsInRange(any(), anyLong(), anyLong());
+        verify(checkpointRepository).deleteById(ExpirationSweeper.CHECKPOINT_NAME);
+    }
+
+    @Test
+    @DisplayName("같은 날 진행 위치가 있으면 그 다음 청크부터 재개")
+    void sweep_ResumesFromCheckpoint() {
+        // given
+        when(giftCardRepository.findMaxId()).thenReturn(250L);
+        when(checkpointRepository.findById(ExpirationSweeper.CHECKPOINT_NAME)).thenReturn(Optional.of(
+                SweepCheckpoint.builder().name(ExpirationSweeper.CHECKPOINT_NAME).sweepDate(today).lastId(200L).build()));
+        givenDueCards(4);
+
+        // when
+        int updated = expirationSweeper.sweep(today);
+
+        // then
+        assertThat(updated).isEqualTo(4);
+        verify(giftCardRepository, times(1)).lockExpiredActiveIdsInRange(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("이전 날짜의 진행 위치는 무시하고 처음부터 처리")
+    void sweep_IgnoresStaleCheckpoint() {
+        // given
+        when(giftCardRepository.findMaxId()).thenReturn(50L);
+        when(checkpointRepository.findById(ExpirationSweeper.CHECKPOINT_NAME)).thenReturn(Optional.of(
+                SweepCheckpoint.builder().name(ExpirationSweeper.CHECKPOINT_NAME).sweepDate(today.minusDays(1)).lastId(50L).build()));
+        givenDueCards(2);
+
+        // when
+        int updated = expirationSweeper.sweep(today);
+
+        // then
+        assertThat(updated).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("샤드별로 청크를 나눠 병렬 처리하고 샤드마다 진행 위치 기록")
+    void sweep_ParallelShards() throws Exception {
+        // given
+        poolSize(10);
+        ReflectionTestUtils.setField(expirationSweeper, "shards", 4);
+        when(giftCardRepository.findMaxId()).thenReturn(1000L);
+        when(checkpointRepository.findById(anyString())).thenReturn(Optional.empty());
+        givenDueCards(1);
+
+        // when
+        int updated = expirationSweeper.sweep(today);
+
+        // then
+        assertThat(updated).isEqualTo(10);
+        for (long from = 0; from < 1000; from += 100) {
+            verify(giftCardRepository).lockExpiredActiveIdsInRange(today, from, from + 100);
+        }
+        ArgumentCaptor<SweepCheckpoint> captor = ArgumentCaptor.forClass(SweepCheckpoint.class);
+        verify(checkpointRepository, times(6)).save(captor.capture());
+        assertThat(captor.getAllValues()).extracting(SweepCheckpoint::getName).containsOnly(
+                "expiration-sweep-0/4", "expiration-sweep-1/4", "expiration-sweep-2/4", "expiration-sweep-3/4");
+        for (int shard = 0; shard < 4; shard++) {
+            verify(checkpointRepository).deleteById("expiration-sweep-" + shard + "/4");
+        }
+    }
+
+    @Test
+    @DisplayName("샤드 수는 커넥션 풀 여유분을 넘지 않음")
+    void shardCount_BoundedByPoolSize() throws Exception {
+        // given
+        poolSize(4);
+        ReflectionTestUtils.setField(expirationSweeper, "shards", 8);
+
+        // when & then
+        assertThat(expirationSweeper.shardCount()).isEqualTo(4 - ExpirationSweeper.RESERVED_CONNECTIONS);
+        ReflectionTestUtils.setField(expirationSweeper, "shards", 0);
+        assertThat(expirationSweeper.shardCount()).isEqualTo(4 - ExpirationSweeper.RESERVED_CONNECTIONS);
+    }
+
+    @Test
+    @DisplayName("샤드 재개 - 이 샤드의 다음 청크부터 처리")
+    void sweep_ParallelResumesPerShard() throws Exception {
+        // given
+        poolSize(10);
+        ReflectionTestUtils.setField(expirationSweeper, "shards", 2);
+        when(giftCardRepository.findMaxId()).thenReturn(400L);
+        when(checkpointRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(checkpointRepository.findById("expiration-sweep-0/2")).thenReturn(Optional.of(
+                SweepCheckpoint.builder().name("expiration-sweep-0/2").sweepDate(today).lastId(100L).build()));
+        givenDueCards(1);
+
+        // when
+        int updated = expirationSweeper.sweep(today);
+
+        // then - 샤드 0은 (0, 100] 완료 후 (200, 300]부터, 샤드 1은 (100, 200], (300, 400]
+        assertThat(updated).isEqualTo(3);
+        verify(giftCardRepository, never()).lockExpiredActiveIdsInRange(eq(today), eq(0L), eq(100L));
+        verify(giftCardRepository).lockExpiredActiveIdsInRange(eq(today), eq(200L), eq(300L));
+        verify(giftCardRepository).lockExpiredActiveIdsInRange(eq(today), eq(100L), eq(200L));
+        verify(giftCardRepository).lockExpiredActiveIdsInRange(eq(today), eq(300L), eq(400L));
+    }
+
+    @Test
+    @DisplayName("카드가 없으면 아무것도 하지 않음")
+    void sweep_EmptyTable() {
+        // given
+        when(giftCardRepository.findMaxId()).thenReturn(null);
+
+        // when
+        int updated = expirationSweeper.sweep(today);
+
+        // then
+        assertThat(updated).isZero();
+        verifyNoInteractions(checkpointRepository);
+    }
+
+    @Test
+    @DisplayName("지정한 카드 중 만료된 ACTIVE 카드만 전환하고 통계/인덱스 갱신")
+    void expireCards_OnlyExpiredActiveCards() {
+        // given
+        GiftCard due = GiftCard.builder().id(1L).category(Category.ETC).status(CardStatus.ACTIVE)
+                .expirationDate(today.minusDays(1)).build();
+        GiftCard notYet = GiftCard.builder().id(2L).category(Category.ETC).status(CardStatus.ACTIVE)
+                .expirationDate(today).build();
+        GiftCard used = GiftCard.builder().id(3L).category(Category.ETC).status(CardStatus.USED)
+                .expirationDate(today.minusDays(1)).build();
+        when(giftCardRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(due, notYet, used));
+
+        // when
+        int expired = expirationSweeper.expireCards(List.of(1L, 2L, 3L), today);
+
+        // then
+        assertThat(expired).isEqualTo(1);
+        assertThat(due.getStatus()).isEqualTo(CardStatus.EXPIRED);
+        assertThat(notYet.getStatus()).isEqualTo(CardStatus.ACTIVE);
+        assertThat(used.getStatus()).isEqualTo(CardStatus.USED);
+        verify(cardStatistics, times(1)).recordChanged(any(), eq(due));
+        verify(expirationIndex, times(1)).recordChanged(today.minusDays(1), due);
+        verify(notificationOutbox, times(1)).cardExpired(due);
+    }
+
+    @Test
+    @DisplayName("만료 대상이 없는 청크는 알림 기록과 UPDATE를 하지 않음")
+    void sweep_SkipsEmptyChunk() {
+        // given
+        when(giftCardRepository.findMaxId()).thenReturn(50L);
+        when(checkpointRepository.findById(ExpirationSweeper.CHECKPOINT_NAME)).thenReturn(Optional.empty());
+        givenDueCards(0);
+
+        // when
+        int updated = expirationSweeper.sweep(today);
+
+        // then
+        assertThat(updated).isZero();
+        verify(notificationOutbox, never()).cardsExpired(anyCollection(), any());
+        verify(giftCardRepository, never()).expireActiveCards(anyCollection(), any());
+    }
+
+    // 청크 (from, to]마다 counts 순서대로 만료 대상 id n개(from + 1부터)를 잠근 것으로 흉내냄 (counts가 끝나면 마지막 값 반복)
+    private void givenDueCards(int... counts) {
+        AtomicInteger calls = new AtomicInteger();
+        when(giftCardRepository.lockExpiredActiveIdsInRange(eq(today), anyLong(), anyLong())).thenAnswer(invocation -> {
+            int n = counts[Math.min(calls.getAndIncrement(), counts.length - 1)];
+            long from = invocation.getArgument(1);
+            return LongStream.rangeClosed(from + 1, from + n).boxed().toList();
+        });
+        lenient().when(giftCardRepository.expireActiveCards(anyCollection(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+    }
+
+    private void poolSize(int size) throws Exception {
+        HikariDataSource hikari = mock(HikariDataSource.class);
+        when(hikari.getMaximumPoolSize()).thenReturn(size);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+    }
+}
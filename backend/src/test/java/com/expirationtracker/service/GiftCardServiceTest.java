@@ -1,27 +1,52 @@
 package com.expirationtracker.service;
 
+import com.expirationtracker.dto.BatchCreateResponse;
+import com.expirationtracker.dto.CardCursor;
+import com.expirationtracker.dto.CardListFingerprint;
+import com.expirationtracker.dto.CardStats;
+import com.expirationtracker.dto.CardStatsRow;
 import com.expirationtracker.dto.GiftCardRequest;
+import com.expirationtracker.dto.PageResponse;
+import com.expirationtracker.dto.UserCardStatsRow;
 import com.expirationtracker.entity.CardStatus;
 import com.expirationtracker.entity.Category;
 import com.expirationtracker.entity.GiftCard;
+import com.expirationtracker.notification.NotificationOutbox;
 import com.expirationtracker.repository.GiftCardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +56,36 @@ class GiftCardServiceTest {
     @Mock
     private GiftCardRepository giftCardRepository;
 
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ExpirationSweeper expirationSweeper;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private CardStatistics cardStatistics;
+
+    @Mock
+    private ExpirationIndex expirationIndex;
+
+    @Mock
+    private ExpirationEngine expirationEngine;
+
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private CardCache cardCache = new CardCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
     @InjectMocks
     private GiftCardService giftCardService;
 
@@ -38,6 +93,12 @@ class GiftCardServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
         testCard = GiftCard.builder()
                 .id(1L)
                 .name("스타벅스 아메리카노")
@@ -65,6 +126,22 @@ class GiftCardServiceTest {
         verify(giftCardRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("전체 카드 스트리밍 - 전달 후 영속성 컨텍스트에서 분리")
+    void streamAllCards_DetachesEachCard() {
+        // given
+        when(giftCardRepository.streamAll()).thenReturn(Stream.of(testCard));
+        List<GiftCard> received = new ArrayList<>();
+
+        // when
+        long count = giftCardService.streamAllCards(received::add);
+
+        // then
+        assertThat(count).isEqualTo(1L);
+        assertThat(received).containsExactly(testCard);
+        verify(entityManager, times(1)).detach(testCard);
+    }
+
     @Test
     @DisplayName("ID로 카드 조회 성공")
     void getCardById_Success() {
@@ -80,6 +157,137 @@ class GiftCardServiceTest {
         verify(giftCardRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("ID로 카드 조회 - 두 번째 조회는 캐시에서 반환")
+    void getCardById_CachedAfterFirstLoad() {
+        // given
+        when(giftCardRepository.findById(1L)).thenReturn(Optional.of(testCard));
+
+        // when
+        giftCardService.getCardById(1L);
+        GiftCard result = giftCardService.getCardById(1L);
+
+        // then
+        assertThat(result).isSameAs(testCard);
+        verify(giftCardRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("조건부 조회 - 캐시된 카드의 버전이 DB와 다르면 다시 적재")
+    void getCurrentCard_ReloadsStaleCache() {
+        // given - 다른 노드에서 수정되어 DB 버전이 올라간 상황
+        GiftCard updated = GiftCard.builder().id(1L).name("수정된 카드").version(1L).build();
+        when(giftCardRepository.findById(1L)).thenReturn(Optional.of(testCard)).thenReturn(Optional.of(updated));
+        when(giftCardRepository.findVersionById(1L)).thenReturn(Optional.of(1L));
+        giftCardService.getCardById(1L);
+
+        // when
+        GiftCard result = giftCardService.getCurrentCard(1L);
+
+        // then
+        assertThat(result).isSameAs(updated);
+        verify(giftCardRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("조건부 조회 - 버전이 같으면 캐시된 카드 사용")
+    void getCurrentCard_UsesCacheWhenCurrent() {
+        // given
+        when(giftCardRepository.findById(1L)).thenReturn(Optional.of(testCard));
+        testCard.setVersion(3L);
+        when(giftCardRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        giftCardService.getCardById(1L);
+
+        // when
+        GiftCard result = giftCardService.getCurrentCard(1L);
+
+        // then
+        assertThat(result).isSameAs(testCard);
+        verify(giftCardRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("목록 지문에는 기준일이 포함됨")
+    void fingerprintByUser_ScopedToToday() {
+        // given
+        when(giftCardRepository.fingerprintByUserId("user-1"))
+                .thenReturn(new CardListFingerprint(1L, 0L, 1L, null));
+
+        // when
+        CardListFingerprint fingerprint = giftCardService.fingerprintByUser("user-1");
+
+        // then
+        assertThat(fingerprint.scope()).isEqualTo(LocalDate.now().toString());
+    }
+
+    @Test
+    @DisplayName("사용 완료 처리 시 해당 카드와 이전/이후 상태 목록 캐시 제거")
+    void markAsUsed_EvictsCache() {
+        // given
+        when(giftCardRepository.findById(1L)).thenReturn(Optional.of(testCard));
+        when(giftCardRepository.findByStatus(CardStatus.ACTIVE)).thenReturn(List.of(testCard));
+        when(giftCardRepository.findByStatus(CardStatus.USED)).thenReturn(List.of());
+        when(giftCardRepository.save(any(GiftCard.class))).thenReturn(testCard);
+        giftCardService.getCardById(1L);
+        giftCardService.getCardsByStatus(CardStatus.ACTIVE);
+        giftCardService.getCardsByStatus(CardStatus.USED);
+
+        // when
+        giftCardService.markAsUsed(1L);
+        giftCardService.getCardById(1L);
+        giftCardService.getCardsByStatus(CardStatus.ACTIVE);
+        giftCardService.getCardsByStatus(CardStatus.USED);
+
+        // then - 최초 조회, 수정 경로(캐시 미사용), 캐시 제거 후 재조회
+        verify(giftCardRepository, times(3)).findById(1L);
+        verify(giftCardRepository, times(2)).findByStatus(CardStatus.ACTIVE);
+        verify(giftCardRepository, times(2)).findByStatus(CardStatus.USED);
+    }
+
+    @Test
+    @DisplayName("ID로 카드 조회 - 이미지는 해시로 저장소에서 조회")
+    void getCardWithImage_LoadsImageFromStore() {
+        // given
+        testCard.setImageHash("a".repeat(64));
+        testCard.setImageContentType("image/png");
+        when(giftCardRepository.findById(1L)).thenReturn(Optional.of(testCard));
+        when(imageStorageService.loadAsDataUri("a".repeat(64), "image/png")).thenReturn("data:image/png;base64,AAAA");
+
+        // when
+        GiftCard result = giftCardService.getCardWithImage(1L);
+
+        // then
+        assertThat(result.getImageBase64()).isEqualTo("data:image/png;base64,AAAA");
+    }
+
+    @Test
+    @DisplayName("카드 생성 시 이미지는 저장소에 저장하고 해시만 기록")
+    void createCard_StoresImageHashOnly() {
+        // given
+        GiftCardRequest request = new GiftCardRequest();
+        request.setName("CU 편의점 상품권");
+        request.setCategory(Category.VOUCHER);
+        request.setExpirationDate(LocalDate.now().plusDays(60));
+        request.setImageBase64("data:image/png;base64,AAAA");
+
+        when(imageStorageService.store("data:image/png;base64,AAAA"))
+                .thenReturn(new ImageStorageService.StoredImage("b".repeat(64), "image/png"));
+        when(giftCardRepository.save(any(GiftCard.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        GiftCard result = giftCardService.createCard(request);
+
+        // then
+        assertThat(result.getImageHash()).isEqualTo("b".repeat(64));
+        assertThat(result.getImageContentType()).isEqualTo("image/png");
+        assertThat(result.getImageBase64()).isNull();
+        // 이미지 정규화/저장은 트랜잭션(커넥션) 밖에서 먼저 실행
+        InOrder inOrder = inOrder(imageStorageService, transactionTemplate, giftCardRepository);
+        inOrder.verify(imageStorageService).store("data:image/png;base64,AAAA");
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(giftCardRepository).save(any(GiftCard.class));
+    }
+
     @Test
     @DisplayName("ID로 카드 조회 실패 - 카드 없음")
     void getCardById_NotFound() {
@@ -164,6 +372,49 @@ class GiftCardServiceTest {
         verify(giftCardRepository, times(1)).findExpiredCards(any(LocalDate.class));
     }
 
+    @Test
+    @DisplayName("유효기간 임박 커서 페이지 - limit보다 많으면 다음 커서 반환")
+    void getExpiringSoonCardsPage_HasNext() {
+        // given
+        GiftCard second = GiftCard.builder()
+                .id(2L)
+                .name("두 번째 카드")
+                .category(Category.COUPON)
+                .expirationDate(LocalDate.now().plusDays(3))
+                .status(CardStatus.ACTIVE)
+                .build();
+        testCard.setExpirationDate(LocalDate.now().plusDays(1));
+        when(giftCardRepository.findExpiringSoonPage(any(LocalDate.class), any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(List.of(testCard, second));
+
+        // when
+        PageResponse<GiftCard> page = giftCardService.getExpiringSoonCardsPage(7, null, 1);
+
+        // then
+        assertThat(page.getItems()).containsExactly(testCard);
+        assertThat(page.isHasNext()).isTrue();
+        CardCursor next = CardCursor.decode(page.getNextCursor(), CardCursor.SortKey.EXPIRATION_DATE);
+        assertThat(next.expirationDate()).isEqualTo(testCard.getExpirationDate());
+        assertThat(next.id()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("만료 카드 커서 페이지 - 커서 이후부터 조회, 마지막 페이지")
+    void getExpiredCardsPage_AfterCursor() {
+        // given
+        CardCursor cursor = new CardCursor(CardCursor.SortKey.EXPIRATION_DATE, "2025-01-01", 5L);
+        when(giftCardRepository.findExpiredCardsPageAfter(any(LocalDate.class), eq(LocalDate.of(2025, 1, 1)), eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(testCard));
+
+        // when
+        PageResponse<GiftCard> page = giftCardService.getExpiredCardsPage(cursor, 10);
+
+        // then
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
     @Test
     @DisplayName("카드 생성 성공")
     void createCard_Success() {
@@ -193,6 +444,88 @@ class GiftCardServiceTest {
         assertThat(result.getName()).isEqualTo("CU 편의점 상품권");
         assertThat(result.getStatus()).isEqualTo(CardStatus.ACTIVE);
         verify(giftCardRepository, times(1)).save(any(GiftCard.class));
+        verify(cardStatistics, times(1)).recordCreated(newCard);
+        verify(expirationEngine, times(1)).track(newCard);
+        verify(notificationOutbox, times(1)).cardCreated(newCard);
+    }
+
+    @Test
+    @DisplayName("카드 일괄 생성 - 유효한 항목만 저장하고 항목별 결과 반환")
+    @SuppressWarnings("unchecked")
+    void createCards_PerItemResults() {
+        // given
+        GiftCardRequest valid = new GiftCardRequest();
+        valid.setName("CU 편의점 상품권");
+        valid.setCategory(Category.VOUCHER);
+        valid.setExpirationDate(LocalDate.now().plusDays(60));
+        valid.setUserId("user1");
+        GiftCardRequest invalid = new GiftCardRequest();
+        invalid.setCategory(Category.VOUCHER);
+
+        ConstraintViolation<GiftCardRequest> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("카드 이름은 필수입니다");
+        when(validator.validate(valid)).thenReturn(Set.of());
+        when(validator.validate(invalid)).thenReturn(Set.of(violation));
+        when(giftCardRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<GiftCard> cards = invocation.getArgument(0);
+            cards.forEach(card -> card.setId(100L));
+            return cards;
+        });
+
+        // when
+        BatchCreateResponse response = giftCardService.createCards(List.of(valid, invalid));
+
+        // then
+        assertThat(response.getRequested()).isEqualTo(2);
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).isSuccess()).isTrue();
+        assertThat(response.getResults().get(0).getId()).isEqualTo(100L);
+        assertThat(response.getResults().get(1).isSuccess()).isFalse();
+        assertThat(response.getResults().get(1).getMessage()).isEqualTo("카드 이름은 필수입니다");
+        verify(entityManager, times(1)).flush();
+        verify(notificationOutbox, times(1)).cardsCreated("user1", 1);
+    }
+
+    @Test
+    @DisplayName("카드 일괄 생성 - 이미지는 모두 트랜잭션 밖에서 저장하고 트랜잭션에서는 INSERT만 실행")
+    void createCards_StoresImagesBeforeTransaction() {
+        // given
+        List<GiftCardRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            GiftCardRequest request = new GiftCardRequest();
+            request.setName("카드 " + i);
+            request.setCategory(Category.COUPON);
+            request.setExpirationDate(LocalDate.now().plusDays(10));
+            request.setImageBase64("data:image/png;base64,AAA" + i);
+            requests.add(request);
+        }
+        when(imageStorageService.store(anyString()))
+                .thenReturn(new ImageStorageService.StoredImage("c".repeat(64), "image/jpeg", "d".repeat(64)));
+        when(giftCardRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        BatchCreateResponse response = giftCardService.createCards(requests);
+
+        // then
+        assertThat(response.getCreated()).isEqualTo(3);
+        InOrder inOrder = inOrder(imageStorageService, transactionTemplate, giftCardRepository);
+        inOrder.verify(imageStorageService, times(3)).store(anyString());
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+        inOrder.verify(giftCardRepository).saveAll(anyList());
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("카드 일괄 생성 - 최대 개수 초과 시 예외")
+    void createCards_TooMany() {
+        // given
+        List<GiftCardRequest> requests = java.util.Collections.nCopies(GiftCardService.MAX_BATCH_SIZE + 1, new GiftCardRequest());
+
+        // when & then
+        assertThatThrownBy(() -> giftCardService.createCards(requests))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(giftCardRepository);
     }
 
     @Test
@@ -206,6 +539,7 @@ class GiftCardServiceTest {
         request.setBarcode("1111111111111");
         request.setMemo("수정된 메모");
 
+        when(giftCardRepository.existsById(1L)).thenReturn(true);
         when(giftCardRepository.findById(1L)).thenReturn(Optional.of(testCard));
         when(giftCardRepository.save(any(GiftCard.class))).thenReturn(testCard);
 
@@ -218,6 +552,22 @@ class GiftCardServiceTest {
         verify(giftCardRepository, times(1)).save(any(GiftCard.class));
     }
 
+    @Test
+    @DisplayName("카드 수정 - 없는 카드면 이미지를 저장하지 않음")
+    void updateCard_NotFound_DoesNotStoreImage() {
+        // given
+        GiftCardRequest request = new GiftCardRequest();
+        request.setName("수정된 카드 이름");
+        request.setImageBase64("aW1hZ2U=");
+        when(giftCardRepository.existsById(999L)).thenReturn(false);
+
+        // when & then
+        assertThatThrownBy(() -> giftCardService.updateCard(999L, request))
+                .hasMessageContaining("카드를 찾을 수 없습니다");
+        verifyNoInteractions(imageStorageService);
+        verify(transactionTemplate, never()).execute(any());
+    }
+
     @Test
     @DisplayName("카드 삭제 성공")
     void deleteCard_Success() {
@@ -231,6 +581,8 @@ class GiftCardServiceTest {
         // then
         verify(giftCardRepository, times(1)).findById(1L);
         verify(giftCardRepository, times(1)).delete(testCard);
+        verify(cardStatistics, times(1)).recordDeleted(testCard);
+        verify(expirationEngine, times(1)).untrack(1L);
     }
 
     @Test
@@ -249,57 +601,124 @@ class GiftCardServiceTest {
         assertThat(result.getUsedAt()).isNotNull();
         verify(giftCardRepository, times(1)).findById(1L);
         verify(giftCardRepository, times(1)).save(any(GiftCard.class));
+        verify(cardStatistics, times(1)).recordChanged(
+                argThat(before -> before.status() == CardStatus.ACTIVE), eq(testCard));
     }
 
     @Test
-    @DisplayName("만료 카드 업데이트 성공")
+    @DisplayName("만료 카드 업데이트 성공 - 일괄 처리기에 위임")
     void updateExpiredCards_Success() {
         // given
-        GiftCard expiredCard = GiftCard.builder()
-                .id(3L)
-                .name("만료 예정 카드")
-                .category(Category.COUPON)
-                .expirationDate(LocalDate.now().minusDays(1))
-                .status(CardStatus.ACTIVE)
-                .build();
+        when(expirationSweeper.sweep(any(LocalDate.class))).thenReturn(3);
 
-        List<GiftCard> expiredCards = Arrays.asList(expiredCard);
-        when(giftCardRepository.findExpiredCards(any(LocalDate.class))).thenReturn(expiredCards);
-        when(giftCardRepository.saveAll(anyList())).thenReturn(expiredCards);
+        // when
+        int updated = giftCardService.updateExpiredCards();
+
+        // then
+        assertThat(updated).isEqualTo(3);
+        verify(expirationSweeper, times(1)).sweep(any(LocalDate.class));
+        verify(giftCardRepository, never()).saveAll(anyList());
+        verify(cardStatistics, times(1)).reconcile();
+        verify(expirationIndex, times(1)).rebuild();
+    }
+
+    @Test
+    @DisplayName("유효기간 임박 조회 - 인덱스 순서대로 id만 조회")
+    void getExpiringSoonCards_FromIndex() {
+        // given
+        GiftCard later = GiftCard.builder().id(2L).category(Category.ETC).status(CardStatus.ACTIVE)
+                .expirationDate(LocalDate.now().plusDays(5)).build();
+        GiftCard sooner = GiftCard.builder().id(3L).category(Category.ETC).status(CardStatus.ACTIVE)
+                .expirationDate(LocalDate.now().plusDays(1)).build();
+        when(expirationIndex.isReady()).thenReturn(true);
+        when(expirationIndex.idsBetween(any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of(3L, 2L));
+        when(giftCardRepository.findAllById(anyIterable())).thenReturn(List.of(later, sooner));
 
         // when
-        giftCardService.updateExpiredCards();
+        List<GiftCard> result = giftCardService.getExpiringSoonCards(7);
 
         // then
-        verify(giftCardRepository, times(1)).findExpiredCards(any(LocalDate.class));
-        verify(giftCardRepository, times(1)).saveAll(anyList());
+        assertThat(result).containsExactly(sooner, later);
+        verify(giftCardRepository, never()).findExpiringSoon(any(), any());
+    }
+
+    @Test
+    @DisplayName("통계 조회 - 카운터가 준비되면 DB 조회 없이 반환")
+    void getStats_FromCounters() {
+        // given
+        CardStats counters = CardStats.from(List.of(new CardStatsRow(CardStatus.ACTIVE, Category.ETC, 1L, 0L, 0L)));
+        when(cardStatistics.snapshot(isNull(), any(LocalDate.class))).thenReturn(Optional.of(counters));
+
+        // when
+        CardStats stats = giftCardService.getStats(" ");
+
+        // then
+        assertThat(stats).isSameAs(counters);
+        verifyNoInteractions(giftCardRepository);
+    }
+
+    @Test
+    @DisplayName("통계 조회 - 단일 집계 쿼리 결과를 전체/카테고리별로 합산")
+    void getStats_SingleAggregateQuery() {
+        // given
+        when(giftCardRepository.aggregateStats(any(LocalDate.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(
+                        new CardStatsRow(CardStatus.ACTIVE, Category.GIFTCARD, 4L, 1L, 3L),
+                        new CardStatsRow(CardStatus.ACTIVE, Category.COUPON, 2L, 1L, 1L),
+                        new CardStatsRow(CardStatus.EXPIRED, Category.GIFTCARD, 3L, 0L, 0L),
+                        new CardStatsRow(CardStatus.USED, Category.TICKET, 1L, 0L, 0L)));
+
+        // when
+        CardStats stats = giftCardService.getStats(null);
+
+        // then
+        assertThat(stats.total()).isEqualTo(10);
+        assertThat(stats.active()).isEqualTo(6);
+        assertThat(stats.expired()).isEqualTo(3);
+        assertThat(stats.used()).isEqualTo(1);
+        assertThat(stats.expiringSoon7()).isEqualTo(2);
+        assertThat(stats.expiringSoon30()).isEqualTo(4);
+        assertThat(stats.byCategory().get(Category.GIFTCARD).total()).isEqualTo(7);
+        assertThat(stats.byCategory().get(Category.GIFTCARD).expired()).isEqualTo(3);
+        assertThat(stats.byCategory().get(Category.VOUCHER).total()).isZero();
+        verify(giftCardRepository, never()).aggregateStatsByUser(any(), any(), any(), any());
     }
 
     @Test
-    @DisplayName("유효기간 임박 카드 개수 조회 성공")
-    void countExpiringSoon_Success() {
+    @DisplayName("통계 조회 - userId 지정 시 사용자별 집계 쿼리 사용")
+    void getStats_ByUser() {
         // given
-        when(giftCardRepository.countExpiringSoon(any(LocalDate.class), any(LocalDate.class))).thenReturn(5L);
+        when(giftCardRepository.aggregateStatsByUser(eq("user-1"), any(LocalDate.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(new CardStatsRow(CardStatus.ACTIVE, Category.ETC, 2L, 0L, 2L)));
 
         // when
-        long count = giftCardService.countExpiringSoon(7);
+        CardStats stats = giftCardService.getStats("user-1");
 
         // then
-        assertThat(count).isEqualTo(5L);
-        verify(giftCardRepository, times(1)).countExpiringSoon(any(LocalDate.class), any(LocalDate.class));
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.expiringSoon30()).isEqualTo(2);
+        verify(giftCardRepository, never()).aggregateStats(any(), any(), any());
     }
 
     @Test
-    @DisplayName("상태별 카드 개수 조회 성공")
-    void countByStatus_Success() {
+    @DisplayName("사용자별 통계 - 집계 쿼리 한 번의 결과를 사용자마다 합산")
+    void getStatsByUser_SingleGroupedQuery() {
         // given
-        when(giftCardRepository.countByStatus(CardStatus.ACTIVE)).thenReturn(10L);
+        when(giftCardRepository.aggregateStatsGroupedByUser(any(LocalDate.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(
+                        new UserCardStatsRow("user-1", CardStatus.ACTIVE, Category.GIFTCARD, 3L, 1L, 2L),
+                        new UserCardStatsRow("user-1", CardStatus.USED, Category.COUPON, 1L, 0L, 0L),
+                        new UserCardStatsRow("user-2", CardStatus.EXPIRED, Category.TICKET, 2L, 0L, 0L)));
 
         // when
-        long count = giftCardService.countByStatus(CardStatus.ACTIVE);
+        Map<String, CardStats> stats = giftCardService.getStatsByUser();
 
         // then
-        assertThat(count).isEqualTo(10L);
-        verify(giftCardRepository, times(1)).countByStatus(CardStatus.ACTIVE);
+        assertThat(stats).containsOnlyKeys("user-1", "user-2");
+        assertThat(stats.get("user-1").total()).isEqualTo(4);
+        assertThat(stats.get("user-1").expiringSoon7()).isEqualTo(1);
+        assertThat(stats.get("user-1").byCategory().get(Category.COUPON).used()).isEqualTo(1);
+        assertThat(stats.get("user-2").expired()).isEqualTo(2);
+        verify(giftCardRepository, never()).aggregateStatsByUser(any(), any(), any(), any());
     }
 }
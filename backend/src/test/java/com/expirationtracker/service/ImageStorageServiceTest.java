@@ -0,0 +1,123 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.storage.FileSystemBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ImageStorageService 단위 테스트")
+class ImageStorageServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImageStorageService imageStorageService;
+
+    @BeforeEach
+    void setUp() {
+        imageStorageService = new ImageStorageService(new FileSystemBlobStore(tempDir.toString()),
+                new ImageNormalizer(true, 2, 16, 1920, 0.85f, 320, 0.7f));
+    }
+
+    @Test
+    @DisplayName("큰 스크린샷은 축소 JPEG와 썸네일로 저장")
+    void store_NormalizesLargeImage() throws Exception {
+        // given - 알파 채널이 있는 1080x2400 PNG (휴대폰 스크린샷 크기)
+        byte[] png = png(1080, 2400);
+
+        // when
+        ImageStorageService.StoredImage stored = imageStorageService.store(new ByteArrayInputStream(png), "image/png");
+
+        // then
+        assertThat(stored.contentType()).isEqualTo("image/jpeg");
+        BufferedImage image = read(stored.hash());
+        assertThat(Math.max(image.getWidth(), image.getHeight())).isEqualTo(1920);
+        assertThat(image.getWidth()).isEqualTo(864);
+        BufferedImage thumbnail = read(stored.thumbnailHash());
+        assertThat(Math.max(thumbnail.getWidth(), thumbnail.getHeight())).isEqualTo(320);
+        assertThat(imageStorageService.load(stored.hash()).orElseThrow().remaining()).isLessThan(png.length / 10);
+        assertNoTempFilesLeft();
+    }
+
+    @Test
+    @DisplayName("이미지가 아니면 원본 그대로 저장 (썸네일 없음)")
+    void store_KeepsUndecodableOriginal() {
+        // given
+        byte[] data = new byte[1000];
+        new Random(1).nextBytes(data);
+
+        // when
+        ImageStorageService.StoredImage stored = imageStorageService.store(
+                "data:image/heic;base64," + Base64.getEncoder().encodeToString(data));
+
+        // then
+        assertThat(stored.contentType()).isEqualTo("image/heic");
+        assertThat(stored.thumbnailHash()).isNull();
+        assertThat(imageStorageService.load(stored.hash())).get().extracting(ByteBuffer::remaining).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("빈 본문이나 최대 크기를 넘는 본문은 거부")
+    void store_RejectsEmptyAndOversized() {
+        assertThatThrownBy(() -> imageStorageService.store(new ByteArrayInputStream(new byte[0]), "image/png"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> imageStorageService.store(new ByteArrayInputStream(new byte[11 * 1024 * 1024]), "image/png"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BufferedImage read(String hash) throws IOException {
+        ByteBuffer buffer = imageStorageService.load(hash).orElseThrow();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+
+    private void assertNoTempFilesLeft() throws IOException {
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertThat(files.filter(file -> file.toString().endsWith(".tmp"))).isEmpty();
+        }
+    }
+
+    // 사진처럼 색이 연속적으로 변하고 잡음이 있는 이미지 (PNG로는 잘 압축되지 않음)
+    static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Random random = new Random(1);
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = (x * 255 / width + random.nextInt(8)) & 0xFF;
+                int g = (y * 255 / height + random.nextInt(8)) & 0xFF;
+                int b = ((x + y) * 255 / (width + height) + random.nextInt(8)) & 0xFF;
+                row[x] = 0xFF000000 | r << 16 | g << 8 | b;
+            }
+            image.setRGB(0, y, width, 1, row, 0, width);
+        }
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLACK);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 48));
+        graphics.drawString("2025.12.31", 100, height / 2);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
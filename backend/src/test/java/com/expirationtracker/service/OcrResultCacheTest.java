@@ -0,0 +1,133 @@
+package com.expirationtracker.service;
+
+import com.expirationtracker.dto.OcrResponse;
+import com.expirationtracker.entity.OcrResult;
+import com.expirationtracker.repository.OcrResultRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OcrResultCache 단위 테스트")
+class OcrResultCacheTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @Mock
+    private OcrResultRepository ocrResultRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OcrResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new OcrResultCache(ocrResultRepository, meterRegistry, 100, Duration.ofDays(7), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("성공 결과는 메모리와 DB에 저장, 실패 결과는 저장하지 않음")
+    void put_OnlySuccessfulResults() {
+        // given
+        OcrResponse success = OcrResponse.builder().name("스타벅스").expirationDate(LocalDate.of(2025, 12, 31))
+                .success(true).message("OCR 성공").build();
+        OcrResponse failure = OcrResponse.builder().success(false).message("정보를 추출할 수 없습니다").build();
+
+        // when
+        cache.put(HASH, success, TimeUnit.MILLISECONDS.toNanos(800));
+        cache.put("b".repeat(64), failure, TimeUnit.MILLISECONDS.toNanos(800));
+
+        // then
+        assertThat(cache.get(HASH).blockOptional()).containsSame(success);
+        ArgumentCaptor<OcrResult> captor = ArgumentCaptor.forClass(OcrResult.class);
+        verify(ocrResultRepository, timeout(1000).times(1)).save(captor.capture());
+        assertThat(captor.getValue().getImageHash()).isEqualTo(HASH);
+        assertThat(captor.getValue().getName()).isEqualTo("스타벅스");
+    }
+
+    @Test
+    @DisplayName("메모리에 없으면 DB에서 조회해 메모리에 적재 (TTL 지난 결과는 무시)")
+    void get_FallsBackToDatabase() {
+        // given
+        when(ocrResultRepository.findById(HASH)).thenReturn(Optional.of(OcrResult.builder()
+                .imageHash(HASH).name("배스킨라빈스").message("OCR 성공").createdAt(LocalDateTime.now()).build()));
+        when(ocrResultRepository.findById("c".repeat(64))).thenReturn(Optional.of(OcrResult.builder()
+                .imageHash("c".repeat(64)).name("오래된 결과").createdAt(LocalDateTime.now().minusDays(8)).build()));
+
+        // when
+        Optional<OcrResponse> first = cache.get(HASH).blockOptional();
+        Optional<OcrResponse> second = cache.get(HASH).blockOptional();
+        Optional<OcrResponse> stale = cache.get("c".repeat(64)).blockOptional();
+
+        // then
+        assertThat(first).hasValueSatisfying(response -> {
+            assertThat(response.getName()).isEqualTo("배스킨라빈스");
+            assertThat(response.isSuccess()).isTrue();
+        });
+        assertThat(second).isPresent();
+        assertThat(stale).isEmpty();
+        verify(ocrResultRepository, times(1)).findById(HASH);
+        assertThat(meterRegistry.counter("ocr.cache.lookups", "result", "database").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("ocr.cache.lookups", "result", "memory").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("ocr.cache.lookups", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DB 조회는 호출 스레드가 아닌 별도 스레드에서 실행")
+    void get_QueriesDatabaseOffCallerThread() {
+        // given
+        AtomicReference<String> queryThread = new AtomicReference<>();
+        when(ocrResultRepository.findById(HASH)).thenAnswer(invocation -> {
+            queryThread.set(Thread.currentThread().getName());
+            return Optional.empty();
+        });
+
+        // when
+        Mono<OcrResponse> lookup = cache.get(HASH);
+
+        // then - 구독 전에는 조회하지 않고, 구독하면 별도 스레드에서 조회
+        verify(ocrResultRepository, never()).findById(any());
+        assertThat(lookup.blockOptional()).isEmpty();
+        assertThat(queryThread.get()).isNotNull().isNotEqualTo(Thread.currentThread().getName());
+        assertThat(meterRegistry.counter("ocr.cache.lookups", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("적중마다 Clova 평균 호출 시간만큼 절약 시간 누적")
+    void get_RecordsSavedTime() {
+        // given
+        OcrResponse success = OcrResponse.builder().name("CU").success(true).build();
+        cache.put(HASH, success, TimeUnit.MILLISECONDS.toNanos(500));
+        verify(ocrResultRepository, timeout(1000)).save(any(OcrResult.class));
+
+        // when
+        cache.get(HASH).block();
+        cache.get(HASH).block();
+
+        // then
+        assertThat(meterRegistry.counter("ocr.cache.saved-time").count()).isEqualTo(1.0);
+    }
+}
@@ -1,34 +1,66 @@
 package com.expirationtracker.service;
 
+import com.expirationtracker.dto.OcrBatchItem;
 import com.expirationtracker.dto.OcrResponse;
+import com.expirationtracker.repository.OcrResultRepository;
+import com.expirationtracker.storage.BlobHashes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
 
 @DisplayName("OcrService 단위 테스트")
 class OcrServiceTest {
 
+    private static final String IMAGE = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString("test".getBytes());
+
+    private static final String CLOVA_RESPONSE = "{\"images\":[{\"fields\":[" +
+            "{\"inferText\":\"스타벅스 아메리카노\",\"lineBreak\":true}," +
+            "{\"inferText\":\"유효기간 2025.12.31\",\"lineBreak\":true}]}]}";
+
     private OcrService ocrService;
 
+    private OcrResultCache ocrResultCache;
+
     @BeforeEach
     void setUp() {
-        ocrService = new OcrService();
+        ocrService = newOcrService(16, Duration.ofSeconds(5));
     }
 
     @Test
     @DisplayName("OCR API 미설정 시 실패 응답 반환")
     void processImage_ApiNotConfigured() {
         // given
+        ReflectionTestUtils.setField(ocrService, "clovaOcrUrl", "");
+        ReflectionTestUtils.setField(ocrService, "clovaOcrSecret", "");
         String dummyImage = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString("test".getBytes());
 
         // when
-        OcrResponse response = ocrService.processImage(dummyImage);
+        OcrResponse response = ocrService.processImageAsync(dummyImage).block(Duration.ofSeconds(1));
 
         // then
         assertThat(response).isNotNull();
@@ -46,7 +78,7 @@ class OcrServiceTest {
         String invalidImage = "invalid-base64-string";
 
         // when
-        OcrResponse response = ocrService.processImage(invalidImage);
+        OcrResponse response = ocrService.processImageAsync(invalidImage).block(Duration.ofSeconds(1));
 
         // then
         assertThat(response).isNotNull();
@@ -55,133 +87,252 @@ class OcrServiceTest {
     }
 
     @Test
-    @DisplayName("날짜 추출 테스트 - YYYY-MM-DD 형식")
-    void extractExpirationDate_HyphenFormat() throws Exception {
+    @DisplayName("논블로킹 처리 - 한도 초과 시 대기 없이 OcrBusyException")
+    void processImageAsync_FailsFastWhenSaturated() throws Exception {
         // given
-        String testText = "스타벅스 아메리카노\n유효기간: 2025-12-31\n1234567890123";
+        ocrService = newOcrService(1, Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(ocrService, "clovaOcrUrl", "http://fake-url.com");
+        ReflectionTestUtils.setField(ocrService, "clovaOcrSecret", "fake-secret");
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(ocrService, "permits");
+        permits.acquire();
 
-        // when
-        LocalDate date = invokePrivateMethod("extractExpirationDate", testText);
+        // when & then
+        assertThatThrownBy(() -> ocrService.processImageAsync(IMAGE).block(Duration.ofSeconds(1)))
+                .isInstanceOf(OcrBusyException.class);
 
-        // then
-        assertThat(date).isNotNull();
-        assertThat(date).isEqualTo(LocalDate.of(2025, 12, 31));
+        permits.release();
+        OcrResponse response = ocrService.processImageAsync("invalid-base64-string").block(Duration.ofSeconds(1));
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).contains("오류가 발생했습니다");
+        assertThat(permits.availablePermits()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("날짜 추출 테스트 - YYYY.MM.DD 형식")
-    void extractExpirationDate_DotFormat() throws Exception {
+    @DisplayName("같은 이미지는 캐시된 결과 반환 - API 호출/동시 호출 한도와 무관")
+    void processImage_CachedByImageHash() throws Exception {
         // given
-        String testText = "CU 편의점 상품권\n2025.06.15\n9876543210987";
+        ocrService = newOcrService(1, Duration.ofMillis(10));
+        ReflectionTestUtils.setField(ocrService, "clovaOcrUrl", "http://fake-url.com");
+        ReflectionTestUtils.setField(ocrService, "clovaOcrSecret", "fake-secret");
+        OcrResponse cached = OcrResponse.builder().name("스타벅스").success(true).message("OCR 성공").build();
+        ocrResultCache.put(BlobHashes.sha256("test".getBytes()), cached, 1_000_000);
+        ((Semaphore) ReflectionTestUtils.getField(ocrService, "permits")).acquire();
+
+        // when & then - data URI 접두어가 달라도 디코딩된 바이트가 같으면 적중
+        assertThat(ocrService.processImageAsync(IMAGE).block(Duration.ofSeconds(1))).isSameAs(cached);
+        assertThat(ocrService.processImageAsync(Base64.getEncoder().encodeToString("test".getBytes()))
+                .block(Duration.ofSeconds(1))).isSameAs(cached);
+    }
 
-        // when
-        LocalDate date = invokePrivateMethod("extractExpirationDate", testText);
+    @Test
+    @DisplayName("같은 이미지의 동시 요청은 Clova 호출 하나를 공유")
+    void processImage_CoalescesConcurrentRequests() throws Exception {
+        // given
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        ocrService = newOcrService(fakeClova(gate, calls, HttpStatus.OK), 1, Duration.ofSeconds(5));
+
+        // when - 동시 호출 한도가 1이어도 합류한 요청은 한도를 쓰지 않음
+        List<CompletableFuture<OcrResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(ocrService.processImageAsync(IMAGE).toFuture());
+        }
+        Thread.sleep(100);
+        gate.complete(null);
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
 
         // then
-        assertThat(date).isNotNull();
-        assertThat(date).isEqualTo(LocalDate.of(2025, 6, 15));
+        assertThat(calls).hasValue(1);
+        OcrResponse first = responses.get(0).get();
+        assertThat(first.isSuccess()).isTrue();
+        assertThat(first.getExpirationDate()).isEqualTo(LocalDate.of(2025, 12, 31));
+        for (CompletableFuture<OcrResponse> response : responses) {
+            assertThat(response.get()).isSameAs(first);
+        }
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(ocrService, "inFlight")).isEmpty();
     }
 
     @Test
-    @DisplayName("날짜 추출 테스트 - YYYYMMDD 형식")
-    void extractExpirationDate_NoSeparatorFormat() throws Exception {
+    @DisplayName("실패한 호출도 진행 중 목록에서 제거되어 다음 요청은 새로 호출")
+    void processImage_FailureClearsInFlight() {
         // given
-        String testText = "CGV 영화 관람권\n20260101\n5555555555555";
+        CompletableFuture<Void> gate = CompletableFuture.completedFuture(null);
+        AtomicInteger calls = new AtomicInteger();
+        ocrService = newOcrService(fakeClova(gate, calls, HttpStatus.INTERNAL_SERVER_ERROR), 1, Duration.ofSeconds(5));
 
         // when
-        LocalDate date = invokePrivateMethod("extractExpirationDate", testText);
+        OcrResponse first = ocrService.processImageAsync(IMAGE).block(Duration.ofSeconds(5));
+        OcrResponse second = ocrService.processImageAsync(IMAGE).block(Duration.ofSeconds(5));
 
         // then
-        assertThat(date).isNotNull();
-        assertThat(date).isEqualTo(LocalDate.of(2026, 1, 1));
+        assertThat(first.isSuccess()).isFalse();
+        assertThat(second.isSuccess()).isFalse();
+        assertThat(calls).hasValue(2);
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(ocrService, "inFlight")).isEmpty();
+        assertThat(((Semaphore) ReflectionTestUtils.getField(ocrService, "permits")).availablePermits()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("날짜 추출 실패 - 유효하지 않은 형식")
-    void extractExpirationDate_InvalidFormat() throws Exception {
+    @DisplayName("본문 없는 200 응답 - 실패 응답으로 끝나고 permit/진행 중 목록 정리")
+    void processImage_EmptyResponseBody() {
         // given
-        String testText = "날짜 없는 텍스트\n상품권";
+        AtomicInteger calls = new AtomicInteger();
+        ocrService = newOcrService(WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .build());
+                })
+                .build(), 1, Duration.ofMillis(10));
 
         // when
-        LocalDate date = invokePrivateMethod("extractExpirationDate", testText);
+        OcrResponse first = ocrService.processImageAsync(IMAGE).block(Duration.ofSeconds(5));
+        OcrResponse second = ocrService.processImageAsync(IMAGE).block(Duration.ofSeconds(5));
 
         // then
-        assertThat(date).isNull();
+        assertThat(first.isSuccess()).isFalse();
+        assertThat(first.getMessage()).contains("응답 본문이 비어 있습니다");
+        assertThat(second.isSuccess()).isFalse();
+        assertThat(calls).hasValue(2);
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(ocrService, "inFlight")).isEmpty();
+        assertThat(((Semaphore) ReflectionTestUtils.getField(ocrService, "permits")).availablePermits()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("바코드 추출 테스트 - 13자리")
-    void extractBarcode_13Digits() throws Exception {
+    @DisplayName("Clova 응답 파싱 - 좌표 등 다른 값은 건너뛰고 첫 이미지의 inferText만 사용")
+    void processImage_ParsesClovaResponse() {
         // given
-        String testText = "스타벅스 아메리카노\n1234567890123\n유효기간: 2025-12-31";
+        String vertices = "\"boundingPoly\":{\"vertices\":[{\"x\":1.0,\"y\":2.0},{\"x\":3.0,\"y\":4.0}]}";
+        String body = "{\"version\":\"V2\",\"requestId\":\"r\",\"timestamp\":1," +
+                "\"images\":[{\"uid\":\"u\",\"inferResult\":\"SUCCESS\",\"fields\":[" +
+                "{\"valueType\":\"ALL\"," + vertices + ",\"inferText\":\"메가커피\",\"inferConfidence\":0.99,\"lineBreak\":false}," +
+                "{\"inferText\":\"아이스티\",\"lineBreak\":true," + vertices + "}," +
+                "{\"inferText\":\"1234567890123\"," + vertices + ",\"lineBreak\":true}," +
+                "{\"inferText\":\"2025년\"},{\"inferText\":\"3월\"},{\"inferText\":\"1일까지\"}]}," +
+                "{\"fields\":[{\"inferText\":\"두 번째 이미지\",\"lineBreak\":true}]}]}";
+        ocrService = newOcrService(fakeClova(CompletableFuture.completedFuture(null), new AtomicInteger(),
+                HttpStatus.OK, body), 1, Duration.ofSeconds(5));
 
         // when
-        String barcode = invokePrivateMethod("extractBarcode", testText);
+        OcrResponse response = ocrService.processImageAsync(IMAGE).block(Duration.ofSeconds(5));
 
         // then
-        assertThat(barcode).isNotNull();
-        assertThat(barcode).isEqualTo("1234567890123");
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getName()).isEqualTo("메가커피 아이스티");
+        assertThat(response.getBarcode()).isEqualTo("1234567890123");
+        assertThat(response.getExpirationDate()).isEqualTo(LocalDate.of(2025, 3, 1));
     }
 
     @Test
-    @DisplayName("바코드 추출 테스트 - 12자리")
-    void extractBarcode_12Digits() throws Exception {
+    @DisplayName("Clova 응답 파싱 - fields가 없으면 Template OCR의 title 사용, 텍스트가 없으면 실패")
+    void processImage_ParsesTemplateTitleAndEmptyResponse() {
         // given
-        String testText = "CU 편의점 상품권\n123456789012\n2025.06.15";
+        String template = "{\"images\":[{\"title\":{\"name\":\"t\",\"inferText\":\"CU 상품권 2025-06-15\"}}]}";
+        OcrService templateService = newOcrService(fakeClova(CompletableFuture.completedFuture(null),
+                new AtomicInteger(), HttpStatus.OK, template), 1, Duration.ofSeconds(5));
+        OcrService emptyService = newOcrService(fakeClova(CompletableFuture.completedFuture(null),
+                new AtomicInteger(), HttpStatus.OK, "{\"images\":[]}"), 1, Duration.ofSeconds(5));
 
         // when
-        String barcode = invokePrivateMethod("extractBarcode", testText);
+        OcrResponse templateResponse = templateService.processImageAsync(IMAGE).block(Duration.ofSeconds(5));
+        OcrResponse emptyResponse = emptyService.processImageAsync(IMAGE).block(Duration.ofSeconds(5));
 
         // then
-        assertThat(barcode).isNotNull();
-        assertThat(barcode).isEqualTo("123456789012");
+        assertThat(templateResponse.getName()).isEqualTo("CU 상품권 2025-06-15");
+        assertThat(templateResponse.getExpirationDate()).isEqualTo(LocalDate.of(2025, 6, 15));
+        assertThat(emptyResponse.isSuccess()).isFalse();
+        assertThat(emptyResponse.getMessage()).contains("텍스트를 인식하지 못했습니다");
     }
 
     @Test
-    @DisplayName("바코드 추출 실패 - 10자리 미만")
-    void extractBarcode_TooShort() throws Exception {
+    @DisplayName("일괄 처리 - 요청당 동시 처리 수 제한, 끝나는 순서대로 항목별 결과 전달")
+    void processBatchAsync_BoundedFanOut() {
         // given
-        String testText = "상품권\n123456789\n2025.06.15";
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ocrService = newOcrService(slowClova(active, maxActive), 16, Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(ocrService, "batchConcurrency", 2);
+        List<Mono<byte[]>> images = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            images.add(Mono.just(("image-" + i).getBytes()));
+        }
+        images.add(Mono.error(new IOException("읽기 실패")));
 
         // when
-        String barcode = invokePrivateMethod("extractBarcode", testText);
+        List<OcrBatchItem> items = ocrService.processBatchAsync(images).collectList().block(Duration.ofSeconds(5));
 
         // then
-        assertThat(barcode).isNull();
+        assertThat(items).extracting(OcrBatchItem::getIndex).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5);
+        assertThat(items).filteredOn(item -> item.getIndex() < 5)
+                .allSatisfy(item -> assertThat(item.getResult().getExpirationDate()).isEqualTo(LocalDate.of(2025, 12, 31)));
+        assertThat(items).filteredOn(item -> item.getIndex() == 5)
+                .singleElement().satisfies(item -> assertThat(item.getResult().isSuccess()).isFalse());
+        assertThat(maxActive.get()).isLessThanOrEqualTo(2);
     }
 
     @Test
-    @DisplayName("카드 이름 추출 테스트")
-    void extractCardName_Success() throws Exception {
+    @DisplayName("일괄 처리 - 전체 한도에 도달하면 429 대신 기다렸다가 처리")
+    void processBatchAsync_WaitsForGlobalLimit() {
         // given
-        String testText = "스타벅스 아메리카노 Tall\n유효기간: 2025-12-31\n1234567890123";
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ocrService = newOcrService(slowClova(active, maxActive), 1, Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(ocrService, "batchConcurrency", 3);
+        List<Mono<byte[]>> images = List.of(Mono.just("a".getBytes()), Mono.just("b".getBytes()), Mono.just("c".getBytes()));
 
         // when
-        String name = invokePrivateMethod("extractCardName", testText);
+        List<OcrBatchItem> items = ocrService.processBatchAsync(images).collectList().block(Duration.ofSeconds(5));
 
         // then
-        assertThat(name).isNotNull();
-        assertThat(name).isEqualTo("스타벅스 아메리카노 Tall");
+        assertThat(items).hasSize(3).allSatisfy(item -> assertThat(item.getResult().isSuccess()).isTrue());
+        assertThat(maxActive.get()).isEqualTo(1);
+        assertThat(((Semaphore) ReflectionTestUtils.getField(ocrService, "permits")).availablePermits()).isEqualTo(1);
     }
 
-    @Test
-    @DisplayName("카드 이름 추출 실패 - 빈 텍스트")
-    void extractCardName_EmptyText() throws Exception {
-        // given
-        String testText = "";
+    private OcrService newOcrService(int maxConcurrent, Duration acquireTimeout) {
+        return newOcrService(WebClient.builder().build(), maxConcurrent, acquireTimeout);
+    }
 
-        // when
-        String name = invokePrivateMethod("extractCardName", testText);
+    private OcrService newOcrService(WebClient webClient, int maxConcurrent, Duration acquireTimeout) {
+        ocrResultCache = new OcrResultCache(mock(OcrResultRepository.class), new SimpleMeterRegistry(),
+                100, Duration.ofDays(7), false);
+        OcrService service = new OcrService(webClient, ocrResultCache, new ObjectMapper(),
+                new ImageNormalizer(true, 1, 16, 1920, 0.85f, 320, 0.7f), new SimpleMeterRegistry(), maxConcurrent, acquireTimeout);
+        ReflectionTestUtils.setField(service, "clovaOcrUrl", "http://fake-url.com");
+        ReflectionTestUtils.setField(service, "clovaOcrSecret", "fake-secret");
+        return service;
+    }
 
-        // then
-        assertThat(name).isNull();
+    // gate가 완료될 때까지 응답을 보류하는 가짜 Clova 서버 (호출 횟수 기록)
+    private WebClient fakeClova(CompletableFuture<Void> gate, AtomicInteger calls, HttpStatus status) {
+        return fakeClova(gate, calls, status, CLOVA_RESPONSE);
+    }
+
+    // 50ms 뒤에 응답하는 가짜 Clova 서버 (동시에 처리 중인 호출 수의 최댓값 기록)
+    private WebClient slowClova(AtomicInteger active, AtomicInteger maxActive) {
+        return WebClient.builder()
+                .exchangeFunction(request -> Mono.fromRunnable(() -> maxActive.accumulateAndGet(active.incrementAndGet(), Math::max))
+                        .then(Mono.delay(Duration.ofMillis(50)))
+                        .then(Mono.fromSupplier(() -> {
+                            active.decrementAndGet();
+                            return ClientResponse.create(HttpStatus.OK)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body(CLOVA_RESPONSE)
+                                    .build();
+                        })))
+                .build();
     }
 
-    // Helper method to invoke private methods for testing
-    @SuppressWarnings("unchecked")
-    private <T> T invokePrivateMethod(String methodName, String param) throws Exception {
-        java.lang.reflect.Method method = OcrService.class.getDeclaredMethod(methodName, String.class);
-        method.setAccessible(true);
-        return (T) method.invoke(ocrService, param);
+    private WebClient fakeClova(CompletableFuture<Void> gate, AtomicInteger calls, HttpStatus status, String body) {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    return Mono.fromFuture(gate).then(Mono.fromSupplier(() -> ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build()));
+                })
+                .build();
     }
 }
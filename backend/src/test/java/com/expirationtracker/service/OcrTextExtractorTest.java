@@ -0,0 +1,111 @@
+package com.expirationtracker.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OcrTextExtractor 단위 테스트")
+class OcrTextExtractorTest {
+
+    @Test
+    @DisplayName("날짜 추출 테스트 - YYYY-MM-DD 형식")
+    void extractExpirationDate_HyphenFormat() {
+        assertThat(date("스타벅스 아메리카노\n유효기간: 2025-12-31\n1234567890123"))
+                .isEqualTo(LocalDate.of(2025, 12, 31));
+    }
+
+    @Test
+    @DisplayName("날짜 추출 테스트 - YYYY.MM.DD 형식")
+    void extractExpirationDate_DotFormat() {
+        assertThat(date("CU 편의점 상품권\n2025.06.15\n9876543210987")).isEqualTo(LocalDate.of(2025, 6, 15));
+        assertThat(date("교환권\n2025. 6. 5")).isEqualTo(LocalDate.of(2025, 6, 5));
+    }
+
+    @Test
+    @DisplayName("날짜 추출 테스트 - YYYYMMDD 형식")
+    void extractExpirationDate_NoSeparatorFormat() {
+        assertThat(date("CGV 영화 관람권\n20260101\n5555555555555")).isEqualTo(LocalDate.of(2026, 1, 1));
+    }
+
+    @Test
+    @DisplayName("날짜 추출 테스트 - 한글 형식")
+    void extractExpirationDate_KoreanFormat() {
+        assertThat(date("배스킨라빈스 싱글레귤러\n2025년 12월 31일까지")).isEqualTo(LocalDate.of(2025, 12, 31));
+        assertThat(date("교환권\n2025년1월5일")).isEqualTo(LocalDate.of(2025, 1, 5));
+    }
+
+    @Test
+    @DisplayName("날짜 추출 테스트 - 기간 표기는 종료일")
+    void extractExpirationDate_Range() {
+        assertThat(date("메가커피\n유효기간: 2025.01.01 ~ 2025.12.31\n주문번호 20240101"))
+                .isEqualTo(LocalDate.of(2025, 12, 31));
+        assertThat(date("교환권\n2025년 1월 1일 ~ 2026년 1월 1일")).isEqualTo(LocalDate.of(2026, 1, 1));
+    }
+
+    @Test
+    @DisplayName("날짜 우선순위 - 표시가 붙은 날짜 > 일반 날짜 > 8자리 날짜")
+    void extractExpirationDate_Ranking() {
+        assertThat(date("교환권\n20240301\n발행일 2024.03.01\n유효기간 2025.03.01"))
+                .isEqualTo(LocalDate.of(2025, 3, 1));
+        assertThat(date("교환권\n20240301\n2025.03.01")).isEqualTo(LocalDate.of(2025, 3, 1));
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 날짜는 건너뛰고 다음 후보 사용")
+    void extractExpirationDate_SkipsInvalidDate() {
+        assertThat(date("교환권\n2025.02.30\n2025.03.31")).isEqualTo(LocalDate.of(2025, 3, 31));
+        assertThat(date("교환권\n12345678")).isNull();
+    }
+
+    @Test
+    @DisplayName("날짜 추출 실패 - 유효하지 않은 형식")
+    void extractExpirationDate_InvalidFormat() {
+        assertThat(date("날짜 없는 텍스트\n상품권")).isNull();
+        assertThat(date("고객센터 1588-1234")).isNull();
+    }
+
+    @Test
+    @DisplayName("바코드 추출 테스트 - 13자리")
+    void extractBarcode_13Digits() {
+        assertThat(barcode("스타벅스 아메리카노\n1234567890123\n유효기간: 2025-12-31")).isEqualTo("1234567890123");
+    }
+
+    @Test
+    @DisplayName("바코드 추출 테스트 - 12자리")
+    void extractBarcode_12Digits() {
+        assertThat(barcode("CU 편의점 상품권\n123456789012\n2025.06.15")).isEqualTo("123456789012");
+    }
+
+    @Test
+    @DisplayName("바코드 추출 실패 - 10자리 미만 또는 영문과 붙은 숫자")
+    void extractBarcode_TooShort() {
+        assertThat(barcode("상품권\n123456789\n2025.06.15")).isNull();
+        assertThat(barcode("상품권\nA1234567890123")).isNull();
+    }
+
+    @Test
+    @DisplayName("카드 이름 추출 테스트")
+    void extractCardName_Success() {
+        assertThat(OcrTextExtractor.extract("스타벅스 아메리카노 Tall\n유효기간: 2025-12-31\n1234567890123").name())
+                .isEqualTo("스타벅스 아메리카노 Tall");
+        assertThat(OcrTextExtractor.extract("한 줄 텍스트").name()).isEqualTo("한 줄 텍스트");
+    }
+
+    @Test
+    @DisplayName("카드 이름 추출 실패 - 빈 텍스트")
+    void extractCardName_EmptyText() {
+        assertThat(OcrTextExtractor.extract("").name()).isNull();
+        assertThat(OcrTextExtractor.extract(null)).isEqualTo(new OcrTextExtractor.Result(null, null, null));
+    }
+
+    private LocalDate date(String text) {
+        return OcrTextExtractor.extract(text).expirationDate();
+    }
+
+    private String barcode(String text) {
+        return OcrTextExtractor.extract(text).barcode();
+    }
+}
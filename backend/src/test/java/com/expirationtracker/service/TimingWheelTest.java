@@ -0,0 +1,73 @@
+package com.expirationtracker.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimingWheel 단위 테스트")
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("deadline 이후 첫 tick에 만료 (먼저 만료되지 않음)")
+    void advance_ExpiresAtFirstTickAfterDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 60, 0);
+        wheel.schedule("a", 1500);
+        wheel.schedule("b", 2000);
+
+        assertThat(wheel.advance(1999)).isEmpty();
+        assertThat(wheel.advance(2000)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("상위 레벨 항목도 정확한 시각에 만료")
+    void advance_CascadesFromHigherLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 60, 0);
+        long threeDays = 3L * 24 * 60 * 60 * 1000;
+        wheel.schedule("far", threeDays + 30_500);
+
+        assertThat(wheel.advance(threeDays + 30_000)).isEmpty();
+        assertThat(wheel.advance(threeDays + 31_000)).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("취소된 항목과 지난 deadline 처리")
+    void schedule_CancelledAndPastDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 60, 10_000);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 70_000);
+        wheel.schedule("kept", 70_000);
+        cancelled.cancel();
+
+        assertThat(wheel.schedule("past", 9_000)).isNull();
+        assertThat(wheel.advance(70_000)).containsExactly("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("임의 시각 항목이 모두 deadline 이후 한 tick 안에 만료")
+    void advance_RandomDeadlines() {
+        long tick = 1000;
+        TimingWheel<Long> wheel = new TimingWheel<>(tick, 8, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = 1 + random.nextInt(2_000_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        int expired = 0;
+        for (long now = tick; now <= 2_001_000; now += tick) {
+            for (Long deadline : wheel.advance(now)) {
+                assertThat(deadline).isLessThanOrEqualTo(now).isGreaterThan(now - tick);
+                expired++;
+            }
+        }
+        assertThat(expired).isEqualTo(deadlines.size());
+    }
+}
@@ -0,0 +1,134 @@
+package com.expirationtracker.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FileSystemBlobStore 단위 테스트")
+class FileSystemBlobStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new FileSystemBlobStore(tempDir.toString());
+    }
+
+    @Test
+    @DisplayName("저장 후 해시로 동일한 내용 조회")
+    void putAndGet() {
+        // given
+        byte[] data = "gifticon-image".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        String hash = blobStore.put(data);
+        Optional<ByteBuffer> result = blobStore.get(hash);
+
+        // then
+        assertThat(hash).isEqualTo(BlobHashes.sha256(data));
+        assertThat(result).isPresent();
+        byte[] read = new byte[result.get().remaining()];
+        result.get().get(read);
+        assertThat(read).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("동일한 내용은 한 번만 저장")
+    void put_Deduplicates() throws Exception {
+        // given
+        byte[] data = "same-image".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        String first = blobStore.put(data);
+        String second = blobStore.put(data.clone());
+
+        // then
+        assertThat(first).isEqualTo(second);
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("스트림 저장 - 바이트 배열 저장과 같은 해시, 임시 파일은 남지 않음")
+    void putStream_SameHashAsBytes() throws Exception {
+        // given
+        byte[] data = new byte[100_000];
+        new Random(1).nextBytes(data);
+
+        // when
+        String hash = blobStore.put(new ByteArrayInputStream(data));
+        String again = blobStore.put(new ByteArrayInputStream(data));
+
+        // then
+        assertThat(hash).isEqualTo(BlobHashes.sha256(data)).isEqualTo(again);
+        assertThat(blobStore.get(hash)).get().extracting(ByteBuffer::remaining).isEqualTo(data.length);
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("스트림 저장은 이미지 크기와 관계없이 힙 할당이 일정 (16MB 업로드에 1MB 미만)")
+    void putStream_AllocatesIndependentOfSize() {
+        // given - 힙을 쓰지 않고 데이터를 만들어내는 16MB 스트림
+        long size = 16L * 1024 * 1024;
+        InputStream upload = new InputStream() {
+            private long remaining = size;
+
+            @Override
+            public int read() {
+                return remaining-- > 0 ? (int) (remaining & 0xFF) : -1;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int count = (int) Math.min(length, remaining);
+                for (int i = 0; i < count; i++) {
+                    buffer[offset + i] = (byte) (--remaining & 0xFF);
+                }
+                return count;
+            }
+        };
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        blobStore.put(new ByteArrayInputStream(new byte[1]));  // 클래스 로딩 등 최초 1회 비용 제외
+
+        // when
+        long before = threads.getThreadAllocatedBytes(threadId);
+        String hash = blobStore.put(upload);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // then - 바이트 배열로 읽었다면 최소 16MB (Base64 문자열까지 거치면 그 몇 배)
+        assertThat(blobStore.get(hash)).get().extracting(ByteBuffer::remaining).isEqualTo((int) size);
+        assertThat(allocated).isLessThan(1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("잘못된 해시나 없는 해시는 빈 결과")
+    void get_InvalidOrMissingHash() {
+        assertThat(blobStore.get("../../etc/passwd")).isEmpty();
+        assertThat(blobStore.get("0".repeat(64))).isEmpty();
+        assertThat(blobStore.exists("0".repeat(64))).isFalse();
+    }
+}
@@ -107,6 +107,17 @@ class GiftCardProvider with ChangeNotifier {
     }
   }
 
+  // 카드 상세 조회 (목록 응답에는 이미지가 포함되지 않으므로 상세 화면에서 사용)
+  Future<GiftCard?> fetchCardDetail(int id) async {
+    try {
+      return await _apiService.fetchCardById(id);
+    } catch (e) {
+      _error = e.toString();
+      notifyListeners();
+      return null;
+    }
+  }
+
   // 카드 생성
   Future<bool> createCard(GiftCard card) async {
     _isLoading = true;
@@ -36,6 +36,14 @@ class _CardDetailScreenState extends State<CardDetailScreen> {
       _card = card;
       _isLoading = false;
     });
+
+    // 이미지는 상세 조회 시에만 내려오므로 서버에서 다시 조회
+    final detail = await provider.fetchCardDetail(widget.cardId);
+    if (detail != null && mounted) {
+      setState(() {
+        _card = detail;
+      });
+    }
   }
 
   // 카드 삭제